@@ -1,12 +1,22 @@
 package basemod;
 
+import basemod.helpers.RelicType;
+import com.badlogic.gdx.Gdx;
 import com.evacipated.cardcrawl.modthespire.Loader;
 import com.evacipated.cardcrawl.modthespire.ModInfo;
+import com.google.gson.Gson;
 import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.characters.AbstractPlayer;
+import com.megacrit.cardcrawl.events.AbstractEvent;
+import com.megacrit.cardcrawl.potions.AbstractPotion;
+import com.megacrit.cardcrawl.powers.AbstractPower;
+import com.megacrit.cardcrawl.relics.AbstractRelic;
 import com.megacrit.cardcrawl.unlock.UnlockTracker;
 import javassist.ClassPool;
 import javassist.CtClass;
 import javassist.NotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.clapper.util.classutil.*;
 
 import java.io.File;
@@ -14,28 +24,51 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 public class AutoAdd
 {
+	private static final Logger logger = LogManager.getLogger(AutoAdd.class.getName());
+
+	private final String modID;
 	private ClassFinder finder;
+	private List<File> jars;
 	private List<ClassFilter> filters;
 	private ClassPool pool;
 	private Boolean defaultSeenOverride = null;
+	// see AutoAddIndex, null if the mod doesn't have one
+	private List<AutoAddIndex.Entry> index = null;
+	private boolean indexRead = false;
+	private boolean finderLoaded = false;
+
+	// Key: jar
+	// Value: every class in it
+	private static final HashMap<File, List<ClassInfo>> scannedJars = new HashMap<>();
+	// Key: class name
+	// Value: the name of its superclass, null for java.lang.Object
+	private static final HashMap<String, String> superclasses = new HashMap<>();
 
 	public AutoAdd(String modID)
 	{
+		this.modID = modID;
 		finder = new ClassFinder();
+		jars = new ArrayList<>();
 		try {
 			for (ModInfo info : Loader.MODINFOS) {
 				if (info != null && modID != null && modID.equals(info.ID) && info.jarURL != null) {
-					finder.add(new File(info.jarURL.toURI()));
+					File jar = new File(info.jarURL.toURI());
+					finder.add(jar);
+					jars.add(jar);
 				}
 			}
 		} catch (URISyntaxException e) {
@@ -77,6 +110,15 @@ public class AutoAdd
 	public <T> Collection<CtClass> findClasses(Class<T> type)
 	{
 		try {
+			List<AutoAddIndex.Entry> indexed = findIndexed(type);
+			if (indexed != null) {
+				Collection<CtClass> ret = new ArrayList<>();
+				for (AutoAddIndex.Entry entry : indexed) {
+					ret.add(pool.get(entry.className));
+				}
+				return ret;
+			}
+
 			List<ClassFilter> tmp = new ArrayList<>();
 			tmp.addAll(Arrays.asList(
 					new NotClassFilter(new InterfaceOnlyClassFilter()),
@@ -85,21 +127,18 @@ public class AutoAdd
 			));
 			tmp.addAll(filters);
 			ClassFilter filter = new AndClassFilter(tmp.toArray(new ClassFilter[0]));
-			Collection<ClassInfo> foundClasses = new ArrayList<>();
-			finder.findClasses(foundClasses, filter);
+			if (!finderLoaded && hasCustomFilters()) {
+				// filters like SubclassClassFilter look other classes up through the finder they're given,
+				// which only knows the classes it has found itself
+				finder.findClasses(new ArrayList<>());
+				finderLoaded = true;
+			}
 
 			Collection<CtClass> ret = new ArrayList<>();
-			for (ClassInfo classInfo : foundClasses) {
-				CtClass ctClass = pool.get(classInfo.getClassName());
-
-				CtClass ctSuperClass = ctClass;
-				do {
-					if (ctSuperClass.getName().equals(type.getName())) {
-						ret.add(ctClass);
-						break;
-					}
-					ctSuperClass = ctSuperClass.getSuperclass();
-				} while (ctSuperClass != null);
+			for (ClassInfo classInfo : scan()) {
+				if (filter.accept(classInfo, finder) && isA(classInfo.getClassName(), type.getName())) {
+					ret.add(pool.get(classInfo.getClassName()));
+				}
 			}
 
 			return ret;
@@ -108,9 +147,119 @@ public class AutoAdd
 		}
 	}
 
-	public <T> void any(Class<T> type, BiConsumer<Info, T> add)
+	// every class in the mod's jars. Each jar is only scanned once until clearCache
+	private List<ClassInfo> scan()
+	{
+		List<ClassInfo> ret = new ArrayList<>();
+		for (File jar : jars) {
+			List<ClassInfo> classes = scannedJars.get(jar);
+			if (classes == null) {
+				ClassFinder jarFinder = new ClassFinder();
+				jarFinder.add(jar);
+				classes = new ArrayList<>();
+				jarFinder.findClasses(classes);
+				// the scan already read every superclass from the class headers
+				for (ClassInfo classInfo : classes) {
+					superclasses.put(classInfo.getClassName(), classInfo.getSuperClassName());
+				}
+				scannedJars.put(jar, classes);
+			}
+			ret.addAll(classes);
+		}
+		return ret;
+	}
+
+	private boolean isA(String className, String typeName) throws NotFoundException
+	{
+		for (String name = className; name != null; name = superclassOf(name)) {
+			if (name.equals(typeName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// classes outside of the scanned jars (the game's, BaseMod's, other mods') are looked up once
+	private String superclassOf(String className) throws NotFoundException
+	{
+		if (superclasses.containsKey(className)) {
+			return superclasses.get(className);
+		}
+		CtClass superclass = pool.get(className).getSuperclass();
+		String ret = superclass == null ? null : superclass.getName();
+		superclasses.put(className, ret);
+		return ret;
+	}
+
+	// clearCache - drop the scanned classes and superclasses shared by every AutoAdd. BaseMod calls this
+	// once the game is initialized, since mods only use AutoAdd while registering their content
+	public static void clearCache()
+	{
+		scannedJars.clear();
+		superclasses.clear();
+	}
+
+	private boolean hasCustomFilters()
+	{
+		for (ClassFilter filter : filters) {
+			if (!(filter instanceof PackageFilter)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the indexed classes of type that pass the filters, or null if they have to be found by scanning
+	private List<AutoAddIndex.Entry> findIndexed(Class<?> type)
+	{
+		// other filters need the ClassInfo of a scan
+		if (hasCustomFilters()) {
+			return null;
+		}
+		if (!indexRead) {
+			index = AutoAddIndex.read(jars);
+			indexRead = true;
+		}
+		if (index == null) {
+			return null;
+		}
+
+		List<AutoAddIndex.Entry> ret = new ArrayList<>();
+		for (AutoAddIndex.Entry entry : index) {
+			if (!entry.isA(type.getName())) {
+				continue;
+			}
+			boolean accepted = true;
+			for (ClassFilter filter : filters) {
+				if (!((PackageFilter) filter).accept(entry.className)) {
+					accepted = false;
+					break;
+				}
+			}
+			if (accepted) {
+				ret.add(entry);
+			}
+		}
+		return ret;
+	}
+
+	// forEachClass - the classes of type that aren't ignored, loaded but not instantiated
+	private <T> void forEachClass(Class<T> type, BiConsumer<Info, Class<? extends T>> action)
 	{
 		try {
+			List<AutoAddIndex.Entry> indexed = findIndexed(type);
+			if (indexed != null) {
+				for (AutoAddIndex.Entry entry : indexed) {
+					Info info = new Info(entry);
+					if (info.ignore) {
+						continue;
+					}
+
+					action.accept(info, pool.getClassLoader().loadClass(entry.className).asSubclass(type));
+				}
+				return;
+			}
+
 			Collection<CtClass> foundClasses = findClasses(type);
 
 			for (CtClass ctClass : foundClasses) {
@@ -119,14 +268,34 @@ public class AutoAdd
 					continue;
 				}
 
-				T t = type.cast(pool.getClassLoader().loadClass(ctClass.getName()).newInstance());
-				add.accept(info, t);
+				action.accept(info, pool.getClassLoader().loadClass(ctClass.getName()).asSubclass(type));
 			}
-		} catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+		} catch (ClassNotFoundException e) {
 			throw new RuntimeException(e);
 		}
 	}
 
+	public <T> void any(Class<T> type, BiConsumer<Info, T> add)
+	{
+		forEachClass(type, (info, cls) -> add.accept(info, newInstance(cls)));
+	}
+
+	// everything found is instantiated before any of it is registered, so a class that fails doesn't
+	// leave the rest half registered
+	private <T> List<Found<T>> instantiateAll(Class<T> type)
+	{
+		List<Found<T>> ret = new ArrayList<>();
+		any(type, (info, t) -> ret.add(new Found<>(info, t)));
+		return ret;
+	}
+
+	private <T> List<Found<Class<? extends T>>> loadAll(Class<T> type)
+	{
+		List<Found<Class<? extends T>>> ret = new ArrayList<>();
+		forEachClass(type, (info, cls) -> ret.add(new Found<>(info, cls)));
+		return ret;
+	}
+
 	public void cards()
 	{
 		any(
@@ -140,6 +309,148 @@ public class AutoAdd
 		);
 	}
 
+	// relics - adds the relics to RelicLibrary's pool for type
+	public void relics(RelicType type)
+	{
+		for (Found<AbstractRelic> found : instantiateAll(AbstractRelic.class)) {
+			BaseMod.addRelic(found.item, type);
+			if (found.info.seen) {
+				UnlockTracker.markRelicAsSeen(found.item.relicId);
+			}
+		}
+	}
+
+	// relics - adds the relics to the custom pool of color
+	public void relics(AbstractCard.CardColor color)
+	{
+		for (Found<AbstractRelic> found : instantiateAll(AbstractRelic.class)) {
+			BaseMod.addRelicToCustomPool(found.item, color);
+			if (found.info.seen) {
+				UnlockTracker.markRelicAsSeen(found.item.relicId);
+			}
+		}
+	}
+
+	// potions - adds the potions for every character, with the colors of their PotionColor
+	public void potions()
+	{
+		potions(null);
+	}
+
+	// potions - adds the potions for playerClass only, with the colors of their PotionColor
+	public void potions(AbstractPlayer.PlayerClass playerClass)
+	{
+		for (Found<AbstractPotion> found : instantiateAll(AbstractPotion.class)) {
+			AbstractPotion potion = found.item;
+			BaseMod.addPotion(potion.getClass(), potion.liquidColor, potion.hybridColor, potion.spotsColor, potion.ID, playerClass);
+		}
+	}
+
+	// powers - adds the powers by their POWER_ID (or ID) field. Powers aren't instantiated
+	public void powers()
+	{
+		Map<String, Class<? extends AbstractPower>> powers = new LinkedHashMap<>();
+		for (Found<Class<? extends AbstractPower>> found : loadAll(AbstractPower.class)) {
+			String id = staticID(found.item, "POWER_ID", "ID");
+			if (id != null && !isDuplicate(powers, id, found.item)) {
+				powers.put(id, found.item);
+			}
+		}
+		for (Map.Entry<String, Class<? extends AbstractPower>> power : powers.entrySet()) {
+			BaseMod.addPower(power.getValue(), power.getKey());
+		}
+	}
+
+	// events - adds the events by their ID field to the pool of dungeonID, null for every dungeon
+	public void events(String dungeonID)
+	{
+		Map<String, Class<? extends AbstractEvent>> events = new LinkedHashMap<>();
+		for (Found<Class<? extends AbstractEvent>> found : loadAll(AbstractEvent.class)) {
+			String id = staticID(found.item, "ID");
+			if (id != null && !isDuplicate(events, id, found.item)) {
+				events.put(id, found.item);
+			}
+		}
+		for (Map.Entry<String, Class<? extends AbstractEvent>> event : events.entrySet()) {
+			BaseMod.addEvent(event.getKey(), event.getValue(), dungeonID);
+		}
+	}
+
+	// keywords - adds the keywords in the JSON file at path, an array of objects with PROPER_NAME,
+	// NAMES and DESCRIPTION, prefixed with the mod ID of this AutoAdd
+	public void keywords(String path)
+	{
+		String json = Gdx.files.internal(path).readString("UTF-8");
+		Keyword[] keywords = new Gson().fromJson(json, Keyword[].class);
+		if (keywords == null) {
+			return;
+		}
+		for (Keyword keyword : keywords) {
+			if (keyword.NAMES == null || keyword.NAMES.length == 0) {
+				logger.warn("Skipping keyword without NAMES in " + path);
+				continue;
+			}
+			BaseMod.addKeyword(modID, keyword.PROPER_NAME, keyword.NAMES, keyword.DESCRIPTION);
+		}
+	}
+
+	private static <T> T newInstance(Class<T> cls)
+	{
+		try {
+			return cls.newInstance();
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	// the value of the first public static String field declared by cls named one of names, or null.
+	// Inherited fields don't count, they're the ID of the superclass
+	private static String staticID(Class<?> cls, String... names)
+	{
+		for (String name : names) {
+			try {
+				Field field = cls.getDeclaredField(name);
+				int mods = field.getModifiers();
+				if (Modifier.isPublic(mods) && Modifier.isStatic(mods) && field.get(null) instanceof String) {
+					return (String) field.get(null);
+				}
+			} catch (NoSuchFieldException | IllegalAccessException ignored) {
+			}
+		}
+		logger.warn("Skipping " + cls.getName() + ", it has no static " + String.join(" or ", names) + " field");
+		return null;
+	}
+
+	private static boolean isDuplicate(Map<String, ? extends Class<?>> found, String id, Class<?> cls)
+	{
+		Class<?> other = found.get(id);
+		if (other != null) {
+			logger.warn("Skipping " + cls.getName() + ", its ID " + id + " is already used by " + other.getName());
+			return true;
+		}
+		return false;
+	}
+
+	private static class Found<T>
+	{
+		final Info info;
+		final T item;
+
+		Found(Info info, T item)
+		{
+			this.info = info;
+			this.item = item;
+		}
+	}
+
+	// an entry of the JSON read by keywords
+	private static class Keyword
+	{
+		String PROPER_NAME;
+		String[] NAMES;
+		String DESCRIPTION;
+	}
+
 	public class Info
 	{
 		private static final boolean DEFAULT_IGNORE = false;
@@ -159,6 +470,20 @@ public class AutoAdd
 			}
 		}
 
+		private Info(AutoAddIndex.Entry entry)
+		{
+			ignore = entry.ignore || DEFAULT_IGNORE;
+			if (entry.notSeen) {
+				seen = false;
+			} else if (entry.seen) {
+				seen = true;
+			} else if (defaultSeenOverride != null) {
+				seen = defaultSeenOverride;
+			} else {
+				seen = DEFAULT_SEEN;
+			}
+		}
+
 		public final boolean ignore;
 		public final boolean seen;
 	}
@@ -192,7 +517,12 @@ public class AutoAdd
 		@Override
 		public boolean accept(ClassInfo classInfo, ClassFinder classFinder)
 		{
-			return classInfo.getClassName().startsWith(packageName);
+			return accept(classInfo.getClassName());
+		}
+
+		public boolean accept(String className)
+		{
+			return className.startsWith(packageName);
 		}
 	}
 }
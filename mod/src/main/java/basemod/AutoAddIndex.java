@@ -0,0 +1,104 @@
+package basemod;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+/**
+ * The class index AutoAdd reads instead of scanning a mod's jar, written at build time by
+ * {@link AutoAddIndexProcessor}.
+ *
+ * It's a text resource with a header line followed by one line per public, non-abstract class:
+ * the binary class name, its AutoAdd annotations ('I' Ignore, 'S' Seen, 'N' NotSeen, '-' for none) and
+ * its superclasses up to but not including java.lang.Object, separated by tabs and commas.
+ */
+public class AutoAddIndex
+{
+	private static final Logger logger = LogManager.getLogger(AutoAddIndex.class.getName());
+
+	public static final String RESOURCE = "META-INF/basemod/autoadd.index";
+	static final String HEADER = "# BaseMod AutoAdd index v1";
+
+	private AutoAddIndex() {}
+
+	// read - the indexed classes of every jar, or null if any of them doesn't have an index
+	public static List<Entry> read(List<File> jars)
+	{
+		List<Entry> ret = new ArrayList<>();
+		for (File file : jars) {
+			try (JarFile jar = new JarFile(file)) {
+				ZipEntry resource = jar.getEntry(RESOURCE);
+				if (resource == null) {
+					return null;
+				}
+				try (BufferedReader reader = new BufferedReader(new InputStreamReader(jar.getInputStream(resource), StandardCharsets.UTF_8))) {
+					if (!HEADER.equals(reader.readLine())) {
+						logger.warn("Unsupported AutoAdd index in " + file.getName() + ", scanning it instead");
+						return null;
+					}
+					String line;
+					while ((line = reader.readLine()) != null) {
+						if (!line.isEmpty()) {
+							ret.add(Entry.parse(line));
+						}
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				logger.warn("Failed to read the AutoAdd index of " + file.getName() + ", scanning it instead", e);
+				return null;
+			}
+		}
+		return ret;
+	}
+
+	public static class Entry
+	{
+		public final String className;
+		// superclasses, nearest first
+		public final List<String> supertypes;
+		public final boolean ignore;
+		public final boolean seen;
+		public final boolean notSeen;
+
+		Entry(String className, List<String> supertypes, boolean ignore, boolean seen, boolean notSeen)
+		{
+			this.className = className;
+			this.supertypes = supertypes;
+			this.ignore = ignore;
+			this.seen = seen;
+			this.notSeen = notSeen;
+		}
+
+		public boolean isA(String typeName)
+		{
+			return className.equals(typeName) || supertypes.contains(typeName);
+		}
+
+		static Entry parse(String line)
+		{
+			String[] parts = line.split("\t", -1);
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Malformed line: " + line);
+			}
+			List<String> supertypes = parts[2].isEmpty() ? Collections.emptyList() : Arrays.asList(parts[2].split(","));
+			return new Entry(parts[0], supertypes, parts[1].indexOf('I') >= 0, parts[1].indexOf('S') >= 0, parts[1].indexOf('N') >= 0);
+		}
+
+		String format()
+		{
+			String flags = (ignore ? "I" : "") + (seen ? "S" : "") + (notSeen ? "N" : "");
+			return className + "\t" + (flags.isEmpty() ? "-" : flags) + "\t" + String.join(",", supertypes);
+		}
+	}
+}
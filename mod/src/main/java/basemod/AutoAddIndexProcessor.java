@@ -0,0 +1,135 @@
+package basemod;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that writes an {@link AutoAddIndex} of the classes being compiled, so AutoAdd
+ * can find a mod's cards, relics etc. without reading every class in its jar at startup.
+ *
+ * It isn't registered as a service, mods opt in by naming it in their build, e.g. for Maven:
+ * <pre>
+ * &lt;plugin&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessors&gt;
+ *             &lt;annotationProcessor&gt;basemod.AutoAddIndexProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * The index only covers the classes compiled together, so it has to be a full build of the mod, not an
+ * incremental one. AutoAdd scans jars that don't have an index the way it always has.
+ */
+@SupportedAnnotationTypes("*")
+public class AutoAddIndexProcessor extends AbstractProcessor
+{
+	// Key: class name, sorted so the index is the same from one build to the next
+	private final TreeMap<String, AutoAddIndex.Entry> entries = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		for (Element element : roundEnv.getRootElements()) {
+			if (element instanceof TypeElement) {
+				index((TypeElement) element);
+			}
+		}
+		if (roundEnv.processingOver()) {
+			write();
+		}
+		// doesn't claim any annotations
+		return false;
+	}
+
+	private void index(TypeElement type)
+	{
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (enclosed instanceof TypeElement) {
+				index((TypeElement) enclosed);
+			}
+		}
+		if (type.getKind() != ElementKind.CLASS
+				|| !type.getModifiers().contains(Modifier.PUBLIC)
+				|| type.getModifiers().contains(Modifier.ABSTRACT)) {
+			return;
+		}
+
+		List<String> supertypes = new ArrayList<>();
+		TypeMirror superclass = type.getSuperclass();
+		while (superclass.getKind() == TypeKind.DECLARED) {
+			TypeElement superElement = (TypeElement) ((DeclaredType) superclass).asElement();
+			String name = processingEnv.getElementUtils().getBinaryName(superElement).toString();
+			if (name.equals(Object.class.getName())) {
+				break;
+			}
+			supertypes.add(name);
+			superclass = superElement.getSuperclass();
+		}
+
+		String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+		entries.put(name, new AutoAddIndex.Entry(
+				name,
+				supertypes,
+				hasAnnotation(type, "basemod.AutoAdd.Ignore"),
+				hasAnnotation(type, "basemod.AutoAdd.Seen"),
+				hasAnnotation(type, "basemod.AutoAdd.NotSeen")
+		));
+	}
+
+	// by name, so running the processor doesn't load AutoAdd and everything it depends on
+	private static boolean hasAnnotation(TypeElement type, String annotation)
+	{
+		for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+			TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+			if (annotationType.getQualifiedName().contentEquals(annotation)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void write()
+	{
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", AutoAddIndex.RESOURCE);
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+				writer.write(AutoAddIndex.HEADER);
+				writer.write('\n');
+				for (AutoAddIndex.Entry entry : entries.values()) {
+					writer.write(entry.format());
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + AutoAddIndex.RESOURCE + ": " + e);
+		}
+	}
+}
@@ -1,7 +1,13 @@
 package basemod;
 
 import basemod.abstracts.*;
+import basemod.eventbus.EventBus;
+import basemod.eventbus.SubscriberList;
+import basemod.helpers.CardPortraitAtlas;
+import basemod.helpers.PowerIndexCache;
+import basemod.helpers.RelicRegistry;
 import basemod.helpers.RelicType;
+import basemod.helpers.TextureCache;
 import basemod.helpers.dynamicvariables.BlockVariable;
 import basemod.helpers.dynamicvariables.DamageVariable;
 import basemod.helpers.dynamicvariables.MagicNumberVariable;
@@ -10,6 +16,9 @@ import basemod.patches.com.megacrit.cardcrawl.helpers.TopPanel.TopPanelHelper;
 import basemod.patches.com.megacrit.cardcrawl.screens.select.GridCardSelectScreen.GridCardSelectScreenFields;
 import basemod.patches.com.megacrit.cardcrawl.unlock.UnlockTracker.CountModdedUnlockCards;
 import basemod.patches.whatmod.WhatMod;
+import basemod.profiler.BootProfiler;
+import basemod.profiler.DispatchProfiler;
+import basemod.profiler.HookTrace;
 import basemod.screens.ModalChoiceScreen;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
@@ -55,6 +64,7 @@ import com.megacrit.cardcrawl.monsters.MonsterGroup;
 import com.megacrit.cardcrawl.monsters.MonsterInfo;
 import com.megacrit.cardcrawl.potions.AbstractPotion;
 import com.megacrit.cardcrawl.powers.AbstractPower;
+import com.megacrit.cardcrawl.random.Random;
 import com.megacrit.cardcrawl.relics.AbstractRelic;
 import com.megacrit.cardcrawl.relics.Circlet;
 import com.megacrit.cardcrawl.rewards.RewardItem;
@@ -102,79 +112,70 @@ public class BaseMod {
 	public static int MAX_HAND_SIZE = DEFAULT_MAX_HAND_SIZE;
 
 	private static HashMap<Type, String> typeMaps;
-	private static HashMap<Type, Type> typeTokens;
+	private static LocalizationLoader localizationLoader;
 
 	private static ArrayList<ModBadge> modBadges;
 
-	private static ArrayList<ISubscriber> toRemove;
-	private static ArrayList<StartActSubscriber> startActSubscribers;
-	private static ArrayList<PostCampfireSubscriber> postCampfireSubscribers;
-	private static ArrayList<PostDrawSubscriber> postDrawSubscribers;
-	private static ArrayList<PostExhaustSubscriber> postExhaustSubscribers;
-	private static ArrayList<OnCardUseSubscriber> onCardUseSubscribers;
-	private static ArrayList<PostDungeonInitializeSubscriber> postDungeonInitializeSubscribers;
-	private static ArrayList<PostEnergyRechargeSubscriber> postEnergyRechargeSubscribers;
-	private static ArrayList<PostInitializeSubscriber> postInitializeSubscribers;
-	private static ArrayList<PreMonsterTurnSubscriber> preMonsterTurnSubscribers;
-	private static ArrayList<RenderSubscriber> renderSubscribers;
-	private static ArrayList<PreRenderSubscriber> preRenderSubscribers;
-	private static ArrayList<PostRenderSubscriber> postRenderSubscribers;
-	private static ArrayList<ModelRenderSubscriber> modelRenderSubscribers;
-	private static ArrayList<PreStartGameSubscriber> preStartGameSubscribers;
-	private static ArrayList<StartGameSubscriber> startGameSubscribers;
-	private static ArrayList<PreUpdateSubscriber> preUpdateSubscribers;
-	private static ArrayList<PostUpdateSubscriber> postUpdateSubscribers;
-	private static ArrayList<PostDungeonUpdateSubscriber> postDungeonUpdateSubscribers;
-	private static ArrayList<PreDungeonUpdateSubscriber> preDungeonUpdateSubscribers;
-	private static ArrayList<PostPlayerUpdateSubscriber> postPlayerUpdateSubscribers;
-	private static ArrayList<PrePlayerUpdateSubscriber> prePlayerUpdateSubscribers;
-	private static ArrayList<PostCreateStartingDeckSubscriber> postCreateStartingDeckSubscribers;
-	private static ArrayList<PostCreateStartingRelicsSubscriber> postCreateStartingRelicsSubscribers;
-	private static ArrayList<PostCreateShopRelicSubscriber> postCreateShopRelicSubscribers;
-	private static ArrayList<PostCreateShopPotionSubscriber> postCreateShopPotionSubscribers;
-	private static ArrayList<EditCardsSubscriber> editCardsSubscribers;
-	private static ArrayList<EditRelicsSubscriber> editRelicsSubscribers;
-	private static ArrayList<EditCharactersSubscriber> editCharactersSubscribers;
-	private static ArrayList<EditStringsSubscriber> editStringsSubscribers;
-	private static ArrayList<AddAudioSubscriber> addAudioSubscribers;
-	private static ArrayList<EditKeywordsSubscriber> editKeywordsSubscribers;
-	private static ArrayList<PostBattleSubscriber> postBattleSubscribers;
-	private static ArrayList<SetUnlocksSubscriber> setUnlocksSubscribers;
-	private static ArrayList<PostPotionUseSubscriber> postPotionUseSubscribers;
-	private static ArrayList<PrePotionUseSubscriber> prePotionUseSubscribers;
-	private static ArrayList<PotionGetSubscriber> potionGetSubscribers;
-	private static ArrayList<RelicGetSubscriber> relicGetSubscribers;
-	private static ArrayList<PostPowerApplySubscriber> postPowerApplySubscribers;
-	private static ArrayList<OnPowersModifiedSubscriber> onPowersModifiedSubscribers;
-	private static ArrayList<PostDeathSubscriber> postDeathSubscribers;
-	private static ArrayList<OnStartBattleSubscriber> startBattleSubscribers;
-	private static ArrayList<AddCustomModeModsSubscriber> addCustomModeModsSubscribers;
-	private static ArrayList<MaxHPChangeSubscriber> maxHPChangeSubscribers;
-	private static ArrayList<PreRoomRenderSubscriber> preRoomRenderSubscribers;
-	private static ArrayList<OnPlayerLoseBlockSubscriber> onPlayerLoseBlockSubscribers;
-	private static ArrayList<OnPlayerDamagedSubscriber> onPlayerDamagedSubscribers;
-
-	private static ArrayList<AbstractCard> redToAdd;
-	private static ArrayList<String> redToRemove;
-	private static ArrayList<AbstractCard> greenToAdd;
-	private static ArrayList<String> greenToRemove;
-	private static ArrayList<AbstractCard> blueToAdd;
-	private static ArrayList<String> blueToRemove;
-	private static ArrayList<AbstractCard> purpleToAdd;
-	private static ArrayList<String> purpleToRemove;
-	private static ArrayList<AbstractCard> colorlessToAdd;
-	private static ArrayList<String> colorlessToRemove;
-	private static ArrayList<AbstractCard> curseToAdd;
-	private static ArrayList<String> curseToRemove;
-	private static ArrayList<AbstractCard> customToAdd;
-	private static ArrayList<String> customToRemove;
-	private static ArrayList<AbstractCard.CardColor> customToRemoveColors;
+	private static EventBus eventBus;
+	private static SubscriberList<StartActSubscriber> startActSubscribers;
+	private static SubscriberList<PostCampfireSubscriber> postCampfireSubscribers;
+	private static SubscriberList<PostDrawSubscriber> postDrawSubscribers;
+	private static SubscriberList<PostExhaustSubscriber> postExhaustSubscribers;
+	private static SubscriberList<OnCardUseSubscriber> onCardUseSubscribers;
+	private static SubscriberList<PostDungeonInitializeSubscriber> postDungeonInitializeSubscribers;
+	private static SubscriberList<PostEnergyRechargeSubscriber> postEnergyRechargeSubscribers;
+	private static SubscriberList<PostInitializeSubscriber> postInitializeSubscribers;
+	private static SubscriberList<PreMonsterTurnSubscriber> preMonsterTurnSubscribers;
+	private static SubscriberList<RenderSubscriber> renderSubscribers;
+	private static SubscriberList<PreRenderSubscriber> preRenderSubscribers;
+	private static SubscriberList<PostRenderSubscriber> postRenderSubscribers;
+	private static SubscriberList<ModelRenderSubscriber> modelRenderSubscribers;
+	private static SubscriberList<PreStartGameSubscriber> preStartGameSubscribers;
+	private static SubscriberList<StartGameSubscriber> startGameSubscribers;
+	private static SubscriberList<PreUpdateSubscriber> preUpdateSubscribers;
+	private static SubscriberList<PostUpdateSubscriber> postUpdateSubscribers;
+	private static SubscriberList<PostDungeonUpdateSubscriber> postDungeonUpdateSubscribers;
+	private static SubscriberList<PreDungeonUpdateSubscriber> preDungeonUpdateSubscribers;
+	private static SubscriberList<PostPlayerUpdateSubscriber> postPlayerUpdateSubscribers;
+	private static SubscriberList<PrePlayerUpdateSubscriber> prePlayerUpdateSubscribers;
+	private static SubscriberList<PostCreateStartingDeckSubscriber> postCreateStartingDeckSubscribers;
+	private static SubscriberList<PostCreateStartingRelicsSubscriber> postCreateStartingRelicsSubscribers;
+	private static SubscriberList<PostCreateShopRelicSubscriber> postCreateShopRelicSubscribers;
+	private static SubscriberList<PostCreateShopPotionSubscriber> postCreateShopPotionSubscribers;
+	private static SubscriberList<EditCardsSubscriber> editCardsSubscribers;
+	private static SubscriberList<EditRelicsSubscriber> editRelicsSubscribers;
+	private static SubscriberList<EditCharactersSubscriber> editCharactersSubscribers;
+	private static SubscriberList<EditStringsSubscriber> editStringsSubscribers;
+	private static SubscriberList<AddAudioSubscriber> addAudioSubscribers;
+	private static SubscriberList<EditKeywordsSubscriber> editKeywordsSubscribers;
+	private static SubscriberList<PostBattleSubscriber> postBattleSubscribers;
+	private static SubscriberList<SetUnlocksSubscriber> setUnlocksSubscribers;
+	private static SubscriberList<PostPotionUseSubscriber> postPotionUseSubscribers;
+	private static SubscriberList<PrePotionUseSubscriber> prePotionUseSubscribers;
+	private static SubscriberList<PotionGetSubscriber> potionGetSubscribers;
+	private static SubscriberList<RelicGetSubscriber> relicGetSubscribers;
+	private static SubscriberList<PostPowerApplySubscriber> postPowerApplySubscribers;
+	private static SubscriberList<OnPowersModifiedSubscriber> onPowersModifiedSubscribers;
+	private static SubscriberList<PostDeathSubscriber> postDeathSubscribers;
+	private static SubscriberList<OnStartBattleSubscriber> startBattleSubscribers;
+	private static SubscriberList<AddCustomModeModsSubscriber> addCustomModeModsSubscribers;
+	private static SubscriberList<MaxHPChangeSubscriber> maxHPChangeSubscribers;
+	private static SubscriberList<PreRoomRenderSubscriber> preRoomRenderSubscribers;
+	private static SubscriberList<OnPlayerLoseBlockSubscriber> onPlayerLoseBlockSubscribers;
+	private static SubscriberList<OnPlayerDamagedSubscriber> onPlayerDamagedSubscribers;
+
+	// Key: card color
+	// Value: cards to add to / IDs to remove from CardLibrary, in the order they were registered
+	private static HashMap<AbstractCard.CardColor, ArrayList<AbstractCard>> cardsToAdd;
+	private static HashMap<AbstractCard.CardColor, ArrayList<String>> cardsToRemove;
 
 	private static HashMap<AbstractCard.CardColor, HashMap<String, AbstractRelic>> customRelicPools;
 	private static HashMap<AbstractCard.CardColor, ArrayList<AbstractRelic>> customRelicLists;
 	private static HashMap<String, Pair<Predicate<AbstractCard>, AbstractRelic>> customBottleRelics;
 
 	private static ArrayList<String> potionsToRemove;
+	private static long potionsVersion = 0;
+	private static long powersVersion = 0;
 
 	private static int lastBaseCharacterIndex = -1;
 
@@ -270,6 +271,12 @@ public class BaseMod {
 		defaultProperties.setProperty("console-key", "`");
 		defaultProperties.setProperty("autocomplete-enabled", Boolean.toString(true));
 		defaultProperties.setProperty("whatmod-enabled", Boolean.toString(true));
+		defaultProperties.setProperty("hook-trace-enabled", Boolean.toString(false));
+		defaultProperties.setProperty("hook-trace-sample-rate", Integer.toString(1));
+		defaultProperties.setProperty("hook-trace-max-per-second", Integer.toString(100));
+		defaultProperties.setProperty("boot-profile-enabled", Boolean.toString(false));
+		defaultProperties.setProperty("card-portrait-atlas", Boolean.toString(false));
+		defaultProperties.setProperty("portrait-cache-mb", Integer.toString(64));
 
 		try {
 			SpireConfig retConfig = new SpireConfig(BaseModInit.MODNAME, CONFIG_FILE, defaultProperties);
@@ -329,6 +336,28 @@ public class BaseMod {
 		if (whatmodEnabled != null) {
 			WhatMod.enabled = whatmodEnabled;
 		}
+
+		try {
+			HookTrace.sampleRate = Math.max(1, config.getInt("hook-trace-sample-rate"));
+			HookTrace.maxPerSecond = config.getInt("hook-trace-max-per-second");
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid hook trace settings, using defaults");
+		}
+		Boolean hookTraceEnabled = getBoolean("hook-trace-enabled");
+		if (hookTraceEnabled != null) {
+			HookTrace.setEnabled(hookTraceEnabled);
+		}
+
+		Boolean cardPortraitAtlas = getBoolean("card-portrait-atlas");
+		if (cardPortraitAtlas != null) {
+			CardPortraitAtlas.enabled = cardPortraitAtlas;
+		}
+
+		try {
+			CustomCard.portraitCacheBudget = Math.max(0, config.getInt("portrait-cache-mb")) * 1024L * 1024L;
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid portrait cache size, using default");
+		}
 	}
 
 	public static boolean isBaseGameCharacter(AbstractPlayer c) {
@@ -353,21 +382,27 @@ public class BaseMod {
 	// initialize -
 	public static void initialize() {
 		System.out.println("libgdx version " + Version.VERSION);
+		// read first so the boot profiler knows whether to record anything
+		config = makeConfig();
+		if (config != null) {
+			BootProfiler.setEnabled(getBoolean("boot-profile-enabled"));
+		}
+		BootProfiler.Phase initPhase = BootProfiler.begin("BaseMod.initialize");
 
 		modBadges = new ArrayList<>();
 
-		initializeGson();
-		initializeTypeMaps();
-		initializeSubscriptions();
-		initializeCardLists();
-		initializeCharacterMap();
-		initializeColorMap();
-		initializeRelicPool();
-		initializeUnlocks();
-		initializePotionMap();
-		initializePotionList();
-		initializePowerMap();
-		initializeUnderscorePowerIDs();
+		BootProfiler.run("initializeGson", BaseMod::initializeGson);
+		BootProfiler.run("initializeTypeMaps", BaseMod::initializeTypeMaps);
+		BootProfiler.run("initializeSubscriptions", BaseMod::initializeSubscriptions);
+		BootProfiler.run("initializeCardLists", BaseMod::initializeCardLists);
+		BootProfiler.run("initializeCharacterMap", BaseMod::initializeCharacterMap);
+		BootProfiler.run("initializeColorMap", BaseMod::initializeColorMap);
+		BootProfiler.run("initializeRelicPool", BaseMod::initializeRelicPool);
+		BootProfiler.run("initializeUnlocks", BaseMod::initializeUnlocks);
+		BootProfiler.run("initializePotionMap", BaseMod::initializePotionMap);
+		BootProfiler.run("initializePotionList", BaseMod::initializePotionList);
+		BootProfiler.run("initializePowerMap", BaseMod::initializePowerMap);
+		BootProfiler.run("initializeUnderscorePowerIDs", BaseMod::initializeUnderscorePowerIDs);
 
 		audioToAdd = new HashMap<>();
 
@@ -377,9 +412,9 @@ public class BaseMod {
 		BaseModInit baseModInit = new BaseModInit();
 		BaseMod.subscribe(baseModInit);
 
-		config = makeConfig();
-		setProperties();
-		console = new DevConsole();
+		BootProfiler.run("setProperties", BaseMod::setProperties);
+		BootProfiler.run("DevConsole", () -> console = new DevConsole());
+		BootProfiler.end(initPhase);
 	}
 
 	// setupAnimationGfx -
@@ -402,12 +437,11 @@ public class BaseMod {
 		gson = gsonBuilder.create();
 	}
 
-	// initializeTypeTokens -
+	// initializeTypeMaps -
 	private static void initializeTypeMaps() {
 		logger.info("initializeTypeMaps");
 
 		typeMaps = new HashMap<>();
-		typeTokens = new HashMap<>();
 
 		for (Field f : LocalizedStrings.class.getDeclaredFields()) {
 			Type type = f.getGenericType();
@@ -421,8 +455,6 @@ public class BaseMod {
 
 					logger.info("Registered " + typeArgs[1].getTypeName().replace("com.megacrit.cardcrawl.localization.", ""));
 					typeMaps.put(typeArgs[1], f.getName());
-					ParameterizedType p = com.google.gson.internal.$Gson$Types.newParameterizedTypeWithOwner(null, Map.class, String.class, typeArgs[1]);
-					typeTokens.put(typeArgs[1], p);
 				}
 			}
 		}
@@ -430,72 +462,60 @@ public class BaseMod {
 
 	// initializeSubscriptions -
 	private static void initializeSubscriptions() {
-		toRemove = new ArrayList<>();
-		startActSubscribers = new ArrayList<>();
-		postCampfireSubscribers = new ArrayList<>();
-		postDrawSubscribers = new ArrayList<>();
-		postExhaustSubscribers = new ArrayList<>();
-		onCardUseSubscribers = new ArrayList<>();
-		postDungeonInitializeSubscribers = new ArrayList<>();
-		postEnergyRechargeSubscribers = new ArrayList<>();
-		postInitializeSubscribers = new ArrayList<>();
-		preMonsterTurnSubscribers = new ArrayList<>();
-		renderSubscribers = new ArrayList<>();
-		preRenderSubscribers = new ArrayList<>();
-		postRenderSubscribers = new ArrayList<>();
-		modelRenderSubscribers = new ArrayList<>();
-		preStartGameSubscribers = new ArrayList<>();
-		startGameSubscribers = new ArrayList<>();
-		preUpdateSubscribers = new ArrayList<>();
-		postUpdateSubscribers = new ArrayList<>();
-		postDungeonUpdateSubscribers = new ArrayList<>();
-		preDungeonUpdateSubscribers = new ArrayList<>();
-		postPlayerUpdateSubscribers = new ArrayList<>();
-		prePlayerUpdateSubscribers = new ArrayList<>();
-		postCreateStartingDeckSubscribers = new ArrayList<>();
-		postCreateStartingRelicsSubscribers = new ArrayList<>();
-		postCreateShopRelicSubscribers = new ArrayList<>();
-		postCreateShopPotionSubscribers = new ArrayList<>();
-		editCardsSubscribers = new ArrayList<>();
-		editRelicsSubscribers = new ArrayList<>();
-		editCharactersSubscribers = new ArrayList<>();
-		editStringsSubscribers = new ArrayList<>();
-		addAudioSubscribers = new ArrayList<>();
-		editKeywordsSubscribers = new ArrayList<>();
-		postBattleSubscribers = new ArrayList<>();
-		setUnlocksSubscribers = new ArrayList<>();
-		postPotionUseSubscribers = new ArrayList<>();
-		prePotionUseSubscribers = new ArrayList<>();
-		potionGetSubscribers = new ArrayList<>();
-		relicGetSubscribers = new ArrayList<>();
-		postPowerApplySubscribers = new ArrayList<>();
-		onPowersModifiedSubscribers = new ArrayList<>();
-		postDeathSubscribers = new ArrayList<>();
-		startBattleSubscribers = new ArrayList<>();
-		addCustomModeModsSubscribers = new ArrayList<>();
-		maxHPChangeSubscribers = new ArrayList<>();
-		preRoomRenderSubscribers = new ArrayList<>();
-		onPlayerLoseBlockSubscribers = new ArrayList<>();
-		onPlayerDamagedSubscribers = new ArrayList<>();
+		eventBus = new EventBus();
+		startActSubscribers = eventBus.register(StartActSubscriber.class);
+		postCampfireSubscribers = eventBus.register(PostCampfireSubscriber.class);
+		postDrawSubscribers = eventBus.register(PostDrawSubscriber.class);
+		postExhaustSubscribers = eventBus.register(PostExhaustSubscriber.class);
+		onCardUseSubscribers = eventBus.register(OnCardUseSubscriber.class);
+		postDungeonInitializeSubscribers = eventBus.register(PostDungeonInitializeSubscriber.class);
+		postEnergyRechargeSubscribers = eventBus.register(PostEnergyRechargeSubscriber.class);
+		postInitializeSubscribers = eventBus.register(PostInitializeSubscriber.class);
+		preMonsterTurnSubscribers = eventBus.register(PreMonsterTurnSubscriber.class);
+		renderSubscribers = eventBus.register(RenderSubscriber.class);
+		preRenderSubscribers = eventBus.register(PreRenderSubscriber.class);
+		postRenderSubscribers = eventBus.register(PostRenderSubscriber.class);
+		modelRenderSubscribers = eventBus.register(ModelRenderSubscriber.class);
+		preStartGameSubscribers = eventBus.register(PreStartGameSubscriber.class);
+		startGameSubscribers = eventBus.register(StartGameSubscriber.class);
+		preUpdateSubscribers = eventBus.register(PreUpdateSubscriber.class);
+		postUpdateSubscribers = eventBus.register(PostUpdateSubscriber.class);
+		postDungeonUpdateSubscribers = eventBus.register(PostDungeonUpdateSubscriber.class);
+		preDungeonUpdateSubscribers = eventBus.register(PreDungeonUpdateSubscriber.class);
+		postPlayerUpdateSubscribers = eventBus.register(PostPlayerUpdateSubscriber.class);
+		prePlayerUpdateSubscribers = eventBus.register(PrePlayerUpdateSubscriber.class);
+		postCreateStartingDeckSubscribers = eventBus.register(PostCreateStartingDeckSubscriber.class);
+		postCreateStartingRelicsSubscribers = eventBus.register(PostCreateStartingRelicsSubscriber.class);
+		postCreateShopRelicSubscribers = eventBus.register(PostCreateShopRelicSubscriber.class);
+		postCreateShopPotionSubscribers = eventBus.register(PostCreateShopPotionSubscriber.class);
+		editCardsSubscribers = eventBus.register(EditCardsSubscriber.class);
+		editRelicsSubscribers = eventBus.register(EditRelicsSubscriber.class);
+		editCharactersSubscribers = eventBus.register(EditCharactersSubscriber.class);
+		editStringsSubscribers = eventBus.register(EditStringsSubscriber.class);
+		addAudioSubscribers = eventBus.register(AddAudioSubscriber.class);
+		editKeywordsSubscribers = eventBus.register(EditKeywordsSubscriber.class);
+		postBattleSubscribers = eventBus.register(PostBattleSubscriber.class);
+		setUnlocksSubscribers = eventBus.register(SetUnlocksSubscriber.class);
+		postPotionUseSubscribers = eventBus.register(PostPotionUseSubscriber.class);
+		prePotionUseSubscribers = eventBus.register(PrePotionUseSubscriber.class);
+		potionGetSubscribers = eventBus.register(PotionGetSubscriber.class);
+		relicGetSubscribers = eventBus.register(RelicGetSubscriber.class);
+		postPowerApplySubscribers = eventBus.register(PostPowerApplySubscriber.class);
+		onPowersModifiedSubscribers = eventBus.register(OnPowersModifiedSubscriber.class);
+		postDeathSubscribers = eventBus.register(PostDeathSubscriber.class);
+		startBattleSubscribers = eventBus.register(OnStartBattleSubscriber.class);
+		addCustomModeModsSubscribers = eventBus.register(AddCustomModeModsSubscriber.class);
+		maxHPChangeSubscribers = eventBus.register(MaxHPChangeSubscriber.class);
+		preRoomRenderSubscribers = eventBus.register(PreRoomRenderSubscriber.class);
+		onPlayerLoseBlockSubscribers = eventBus.register(OnPlayerLoseBlockSubscriber.class);
+		onPlayerDamagedSubscribers = eventBus.register(OnPlayerDamagedSubscriber.class);
 	}
 
 	// initializeCardLists -
 	private static void initializeCardLists() {
-		redToAdd = new ArrayList<>();
-		redToRemove = new ArrayList<>();
-		greenToAdd = new ArrayList<>();
-		greenToRemove = new ArrayList<>();
-		blueToAdd = new ArrayList<>();
-		blueToRemove = new ArrayList<>();
-		purpleToAdd = new ArrayList<>();
-		purpleToRemove = new ArrayList<>();
-		colorlessToAdd = new ArrayList<>();
-		colorlessToRemove = new ArrayList<>();
-		curseToAdd = new ArrayList<>();
-		curseToRemove = new ArrayList<>();
-		customToAdd = new ArrayList<>();
-		customToRemove = new ArrayList<>();
-		customToRemoveColors = new ArrayList<>();
+		// linked so colors are processed in the order they were first used
+		cardsToAdd = new LinkedHashMap<>();
+		cardsToRemove = new LinkedHashMap<>();
 	}
 
 	// initializeCharacterMap -
@@ -688,33 +708,25 @@ public class BaseMod {
 			int i = url.lastIndexOf('!');
 			url = url.substring(0, i);
 			URL locationURL = new URL(url);
-			finder.add(new File(locationURL.toURI()));
+			File gameJar = new File(locationURL.toURI());
 
-			ClassFilter filter = new AndClassFilter(
-					new NotClassFilter(new InterfaceOnlyClassFilter()),
-					new NotClassFilter(new AbstractClassFilter()),
-					new RegexClassFilter("com\\.megacrit\\.cardcrawl\\.powers\\..+")
-			);
-			Collection<ClassInfo> foundClasses = new ArrayList<>();
-			finder.findClasses(foundClasses, filter);
+			List<PowerIndexCache.Entry> powers = PowerIndexCache.load(gameJar);
+			if (powers == null) {
+				powers = scanPowers(finder, gameJar);
+				PowerIndexCache.save(gameJar, powers);
+			}
 
-			for (ClassInfo classInfo : foundClasses) {
-				if (classInfo.getClassName().contains("$")) {
+			for (PowerIndexCache.Entry power : powers) {
+				if (!power.cloneable) {
+					logger.warn(String.format("Power (%s) isn't Cloneable", power.className));
+				}
+				if (power.powerID == null) {
 					continue;
 				}
 				try {
-					if (!CloneablePowerInterface.class.isAssignableFrom(BaseMod.class.getClassLoader().loadClass(classInfo.getClassName()))) {
-						logger.warn(String.format("Power (%s) isn't Cloneable", classInfo.getClassName()));
-					}
-					for (FieldInfo fieldInfo : classInfo.getFields()) {
-						if (fieldInfo.getName().equals("POWER_ID") && fieldInfo.getValue() instanceof String) {
-							powerMap.put((String) fieldInfo.getValue(),
-									(Class<? extends AbstractPower>) BaseMod.class.getClassLoader().loadClass(classInfo.getClassName()));
-							break;
-						}
-					}
+					powerMap.put(power.powerID, (Class<? extends AbstractPower>) BaseMod.class.getClassLoader().loadClass(power.className));
 				} catch (ClassNotFoundException e) {
-					System.out.println("ERROR: Failed to load power class: " + classInfo.getClassName());
+					System.out.println("ERROR: Failed to load power class: " + power.className);
 				}
 			}
 		} catch (URISyntaxException | MalformedURLException | NotFoundException e) {
@@ -722,6 +734,41 @@ public class BaseMod {
 		}
 	}
 
+	// scanPowers - finds the powers in the game jar, see PowerIndexCache
+	private static List<PowerIndexCache.Entry> scanPowers(ClassFinder finder, File gameJar) {
+		logger.info("Scanning " + gameJar.getName() + " for powers");
+		finder.add(gameJar);
+
+		ClassFilter filter = new AndClassFilter(
+				new NotClassFilter(new InterfaceOnlyClassFilter()),
+				new NotClassFilter(new AbstractClassFilter()),
+				new RegexClassFilter("com\\.megacrit\\.cardcrawl\\.powers\\..+")
+		);
+		Collection<ClassInfo> foundClasses = new ArrayList<>();
+		finder.findClasses(foundClasses, filter);
+
+		List<PowerIndexCache.Entry> ret = new ArrayList<>();
+		for (ClassInfo classInfo : foundClasses) {
+			if (classInfo.getClassName().contains("$")) {
+				continue;
+			}
+			try {
+				boolean cloneable = CloneablePowerInterface.class.isAssignableFrom(BaseMod.class.getClassLoader().loadClass(classInfo.getClassName()));
+				String powerID = null;
+				for (FieldInfo fieldInfo : classInfo.getFields()) {
+					if (fieldInfo.getName().equals("POWER_ID") && fieldInfo.getValue() instanceof String) {
+						powerID = (String) fieldInfo.getValue();
+						break;
+					}
+				}
+				ret.add(new PowerIndexCache.Entry(powerID, classInfo.getClassName(), cloneable));
+			} catch (ClassNotFoundException e) {
+				System.out.println("ERROR: Failed to load power class: " + classInfo.getClassName());
+			}
+		}
+		return ret;
+	}
+
 	// Finds powers that have IDs with spaces in them and maps those IDs with
 	// underscores instead of spaces to the original id
 	public static void initializeUnderscorePowerIDs() {
@@ -764,27 +811,17 @@ public class BaseMod {
 	// Localization
 	//
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static void loadJsonStrings(Type stringType, String jsonString) {
-		logger.info("loadJsonStrings: " + stringType.getTypeName());
-
-		String typeMap = typeMaps.get(stringType);
-		Type typeToken = typeTokens.get(stringType);
+		loadJsonStrings(stringType, jsonString, "string");
+	}
 
-		String modName = BaseMod.findCallingModName();
+	private static void loadJsonStrings(Type stringType, String jsonString, String source) {
+		logger.info("loadJsonStrings: " + stringType.getTypeName());
 
-		Map localizationStrings = (Map) ReflectionHacks.getPrivateStatic(LocalizedStrings.class, typeMap);
-		Map map = new HashMap(gson.fromJson(jsonString, typeToken));
-		if (stringType.equals(CardStrings.class) || stringType.equals(RelicStrings.class)) {
-			Map map2 = new HashMap();
-			for (Object k : map.keySet()) {
-				map2.put(modName == null ? k : modName + ":" + k, map.get(k));
-			}
-			localizationStrings.putAll(map2);
-		} else {
-			localizationStrings.putAll(map);
+		if (localizationLoader == null) {
+			localizationLoader = new LocalizationLoader(gson, typeMaps);
 		}
-		ReflectionHacks.setPrivateStaticFinal(LocalizedStrings.class, typeMap, localizationStrings);
+		localizationLoader.load(stringType, jsonString, BaseMod.findCallingModName(), source);
 	}
 
 	// loadCustomRelicStrings - loads custom RelicStrings from provided JSON
@@ -795,86 +832,121 @@ public class BaseMod {
 	}
 
 	public static void loadCustomStringsFile(Class<?> stringType, String filepath) {
-		loadJsonStrings(stringType, Gdx.files.internal(filepath).readString(String.valueOf(StandardCharsets.UTF_8)));
+		loadJsonStrings(stringType, Gdx.files.internal(filepath).readString(String.valueOf(StandardCharsets.UTF_8)), filepath);
 	}
 
 	//
 	// Cards
 	//
 
+	// cards to add for color -
+	public static ArrayList<AbstractCard> getCardsToAdd(AbstractCard.CardColor color) {
+		return cardsToAdd.computeIfAbsent(color, c -> new ArrayList<>());
+	}
+
+	// card IDs to remove for color -
+	public static ArrayList<String> getCardsToRemove(AbstractCard.CardColor color) {
+		return cardsToRemove.computeIfAbsent(color, c -> new ArrayList<>());
+	}
+
+	// colors with cards to add or remove -
+	public static Set<AbstractCard.CardColor> getCardChangeColors() {
+		Set<AbstractCard.CardColor> ret = new LinkedHashSet<>(cardsToAdd.keySet());
+		ret.addAll(cardsToRemove.keySet());
+		return ret;
+	}
+
 	// red add -
 	public static ArrayList<AbstractCard> getRedCardsToAdd() {
-		return redToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.RED);
 	}
 
 	// red remove -
 	public static ArrayList<String> getRedCardsToRemove() {
-		return redToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.RED);
 	}
 
 	// green add -
 	public static ArrayList<AbstractCard> getGreenCardsToAdd() {
-		return greenToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.GREEN);
 	}
 
 	// green remove -
 	public static ArrayList<String> getGreenCardsToRemove() {
-		return greenToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.GREEN);
 	}
 
 	// blue add -
 	public static ArrayList<AbstractCard> getBlueCardsToAdd() {
-		return blueToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.BLUE);
 	}
 
 	// blue remove -
 	public static ArrayList<String> getBlueCardsToRemove() {
-		return blueToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.BLUE);
 	}
 
 	// purple add -
 	public static ArrayList<AbstractCard> getPurpleCardsToAdd() {
-		return purpleToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.PURPLE);
 	}
 
 	// purple remove -
 	public static ArrayList<String> getPurpleCardsToRemove() {
-		return purpleToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.PURPLE);
 	}
 
 	// colorless add -
 	public static ArrayList<AbstractCard> getColorlessCardsToAdd() {
-		return colorlessToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.COLORLESS);
 	}
 
 	// colorless remove -
 	public static ArrayList<String> getColorlessCardsToRemove() {
-		return colorlessToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.COLORLESS);
 	}
 
 	// curse add -
 	public static ArrayList<AbstractCard> getCurseCardsToAdd() {
-		return curseToAdd;
+		return getCardsToAdd(AbstractCard.CardColor.CURSE);
 	}
 
 	// curse remove -
 	public static ArrayList<String> getCurseCardsToRemove() {
-		return curseToRemove;
+		return getCardsToRemove(AbstractCard.CardColor.CURSE);
 	}
 
-	// custom add -
+	// custom add - a copy, use getCardsToAdd(color) instead
 	public static ArrayList<AbstractCard> getCustomCardsToAdd() {
-		return customToAdd;
+		ArrayList<AbstractCard> ret = new ArrayList<>();
+		for (Map.Entry<AbstractCard.CardColor, ArrayList<AbstractCard>> e : cardsToAdd.entrySet()) {
+			if (!isBaseGameCardColor(e.getKey())) {
+				ret.addAll(e.getValue());
+			}
+		}
+		return ret;
 	}
 
-	// custom remove -
+	// custom remove - a copy, use getCardsToRemove(color) instead
 	public static ArrayList<String> getCustomCardsToRemove() {
-		return customToRemove;
+		ArrayList<String> ret = new ArrayList<>();
+		for (Map.Entry<AbstractCard.CardColor, ArrayList<String>> e : cardsToRemove.entrySet()) {
+			if (!isBaseGameCardColor(e.getKey())) {
+				ret.addAll(e.getValue());
+			}
+		}
+		return ret;
 	}
 
-	// custom remove colors -
+	// custom remove colors - the color of each ID in getCustomCardsToRemove
 	public static ArrayList<AbstractCard.CardColor> getCustomCardsToRemoveColors() {
-		return customToRemoveColors;
+		ArrayList<AbstractCard.CardColor> ret = new ArrayList<>();
+		for (Map.Entry<AbstractCard.CardColor, ArrayList<String>> e : cardsToRemove.entrySet()) {
+			if (!isBaseGameCardColor(e.getKey())) {
+				ret.addAll(Collections.nCopies(e.getValue().size(), e.getKey()));
+			}
+		}
+		return ret;
 	}
 
 	// add audio to add
@@ -892,56 +964,12 @@ public class BaseMod {
 
 	// add card
 	public static void addCard(AbstractCard card) {
-		switch (card.color) {
-			case RED:
-				redToAdd.add(card);
-				break;
-			case GREEN:
-				greenToAdd.add(card);
-				break;
-			case BLUE:
-				blueToAdd.add(card);
-				break;
-			case PURPLE:
-				purpleToAdd.add(card);
-				break;
-			case COLORLESS:
-				colorlessToAdd.add(card);
-				break;
-			case CURSE:
-				curseToAdd.add(card);
-				break;
-			default:
-				customToAdd.add(card);
-				break;
-		}
+		getCardsToAdd(card.color).add(card);
 	}
 
 	// remove card
 	public static void removeCard(String card, AbstractCard.CardColor color) {
-		switch (color) {
-			case RED:
-				redToRemove.add(card);
-				break;
-			case GREEN:
-				greenToRemove.add(card);
-				break;
-			case BLUE:
-				blueToRemove.add(card);
-				break;
-			case PURPLE:
-				purpleToRemove.add(card);
-			case COLORLESS:
-				colorlessToRemove.add(card);
-				break;
-			case CURSE:
-				curseToRemove.add(card);
-				break;
-			default:
-				customToRemove.add(card);
-				customToRemoveColors.add(color);
-				break;
-		}
+		getCardsToRemove(color).add(card);
 	}
 
 	public static void addDynamicVariable(DynamicVariable dv) {
@@ -1038,6 +1066,7 @@ public class BaseMod {
 					sharedRelics.remove(relic.relicId);
 					RelicLibrary.totalRelicCount--;
 					removeRelicFromTierList(relic);
+					RelicRegistry.remove(relic.relicId, type);
 				}
 				break;
 			case RED:
@@ -1047,6 +1076,7 @@ public class BaseMod {
 					redRelics.remove(relic.relicId);
 					RelicLibrary.totalRelicCount--;
 					removeRelicFromTierList(relic);
+					RelicRegistry.remove(relic.relicId, type);
 				}
 				break;
 			case GREEN:
@@ -1056,6 +1086,7 @@ public class BaseMod {
 					greenRelics.remove(relic.relicId);
 					RelicLibrary.totalRelicCount--;
 					removeRelicFromTierList(relic);
+					RelicRegistry.remove(relic.relicId, type);
 				}
 				break;
 			case BLUE:
@@ -1065,6 +1096,7 @@ public class BaseMod {
 					blueRelics.remove(relic.relicId);
 					RelicLibrary.totalRelicCount--;
 					removeRelicFromTierList(relic);
+					RelicRegistry.remove(relic.relicId, type);
 				}
 				break;
 			case PURPLE:
@@ -1074,6 +1106,7 @@ public class BaseMod {
 					purpleRelics.remove(relic.relicId);
 					RelicLibrary.totalRelicCount--;
 					removeRelicFromTierList(relic);
+					RelicRegistry.remove(relic.relicId, type);
 				}
 				break;
 			default:
@@ -1090,6 +1123,7 @@ public class BaseMod {
 				customRelicPools.get(color).remove(relic.relicId);
 				--RelicLibrary.totalRelicCount;
 				removeRelicFromTierList(relic);
+				RelicRegistry.remove(relic.relicId, color);
 			}
 		}
 		if (customRelicLists.containsKey(color)){
@@ -1119,6 +1153,7 @@ public class BaseMod {
 			customRelicPools.get(color).put(relic.relicId, relic);
 			RelicLibrary.addToTierList(relic);
 			customRelicLists.get(color).add(relic);
+			RelicRegistry.add(relic, color);
 
 			if (relic instanceof CustomBottleRelic) {
 				registerBottleRelic(((CustomBottleRelic) relic).isOnCard(), relic);
@@ -1140,9 +1175,12 @@ public class BaseMod {
 
 	// getCustomRelic -
 	public static AbstractRelic getCustomRelic(String key) {
-		for (HashMap<String, AbstractRelic> map : BaseMod.getAllCustomRelics().values()) {
-			if (map.containsKey(key)) {
-				return map.get(key);
+		AbstractCard.CardColor color = RelicRegistry.getCustomColor(key);
+		if (color != null) {
+			HashMap<String, AbstractRelic> pool = customRelicPools.get(color);
+			AbstractRelic relic = pool == null ? null : pool.get(key);
+			if (relic != null) {
+				return relic;
 			}
 		}
 		return new Circlet();
@@ -1193,47 +1231,10 @@ public class BaseMod {
 		removeRelic(relic, RelicType.PURPLE);
 	}
 
-	// lists the IDs of all Relics from all pools. The casts are actually not
-	// unchecked
-	@SuppressWarnings("unchecked")
+	// lists the IDs of all Relics from all pools, see RelicRegistry
 	public static ArrayList<String> listAllRelicIDs() {
-		// Set to prevent duplicates
-		HashSet<String> relicIDs = new HashSet<>();
-
-		HashMap<String, AbstractRelic> sharedRelics = (HashMap<String, AbstractRelic>) ReflectionHacks
-				.getPrivateStatic(RelicLibrary.class, "sharedRelics");
-		if (sharedRelics != null) {
-			relicIDs.addAll(sharedRelics.keySet());
-		}
-		HashMap<String, AbstractRelic> redRelics = (HashMap<String, AbstractRelic>) ReflectionHacks
-				.getPrivateStatic(RelicLibrary.class, "redRelics");
-		if (redRelics != null) {
-			relicIDs.addAll(redRelics.keySet());
-		}
-		HashMap<String, AbstractRelic> greenRelics = (HashMap<String, AbstractRelic>) ReflectionHacks
-				.getPrivateStatic(RelicLibrary.class, "greenRelics");
-		if (greenRelics != null) {
-			relicIDs.addAll(greenRelics.keySet());
-		}
-		HashMap<String, AbstractRelic> blueRelics = (HashMap<String, AbstractRelic>) ReflectionHacks
-				.getPrivateStatic(RelicLibrary.class, "blueRelics");
-		if (blueRelics != null) {
-			relicIDs.addAll(blueRelics.keySet());
-		}
-		HashMap<String, AbstractRelic> purpleRelics = (HashMap<String, AbstractRelic>) ReflectionHacks
-				.getPrivateStatic(RelicLibrary.class, "purpleRelics");
-		if (purpleRelics != null) {
-			relicIDs.addAll(purpleRelics.keySet());
-		}
-		if (getAllCustomRelics() != null) {
-			for (HashMap<String, AbstractRelic> e : getAllCustomRelics().values()) {
-				if (e != null) {
-					relicIDs.addAll(e.keySet());
-				}
-			}
-		}
-		// But return ArrayList to maintain backwards compatibility
-		return new ArrayList<>(relicIDs);
+		// ArrayList to maintain backwards compatibility
+		return new ArrayList<>(RelicRegistry.getIDs());
 	}
 
 
@@ -1344,28 +1345,80 @@ public class BaseMod {
 		AbstractMonster get();
 	}
 
+	// Builds the group once to read its monster names. Only called the first time an
+	// encounter's name is asked for, since building the group loads every monster's assets.
 	private static String autoCalculateMonsterName(GetMonsterGroup group)
 	{
 		StringBuilder ret = new StringBuilder();
 
+		// monster constructors roll hp and ai, so give them throwaway rngs and put back whatever
+		// was there before, during a run as well as on the main menu (run history, death screen)
+		Long savedSeed = Settings.seed;
+		Random[] savedRngs = saveDungeonRngs();
 		if (AbstractDungeon.monsterRng == null) {
 			Settings.seed = 0L;
 			AbstractDungeon.generateSeeds();
+		} else {
+			AbstractDungeon.monsterRng = new Random(0L);
+			AbstractDungeon.monsterHpRng = new Random(0L);
+			AbstractDungeon.aiRng = new Random(0L);
+			AbstractDungeon.miscRng = new Random(0L);
+			AbstractDungeon.cardRandomRng = new Random(0L);
 		}
 
-		MonsterGroup monsters = group.get();
-		boolean first = true;
-		for (AbstractMonster monster : monsters.monsters) {
-			if (!first) {
-				ret.append(", ");
+		try {
+			MonsterGroup monsters = group.get();
+			boolean first = true;
+			for (AbstractMonster monster : monsters.monsters) {
+				if (!first) {
+					ret.append(", ");
+				}
+				first = false;
+				ret.append(monster.name);
 			}
-			first = false;
-			ret.append(monster.name);
+		} finally {
+			Settings.seed = savedSeed;
+			restoreDungeonRngs(savedRngs);
 		}
 
 		return ret.toString();
 	}
 
+	// every rng AbstractDungeon.generateSeeds replaces
+	private static Random[] saveDungeonRngs()
+	{
+		return new Random[] {
+				AbstractDungeon.monsterRng,
+				AbstractDungeon.eventRng,
+				AbstractDungeon.merchantRng,
+				AbstractDungeon.cardRng,
+				AbstractDungeon.treasureRng,
+				AbstractDungeon.relicRng,
+				AbstractDungeon.potionRng,
+				AbstractDungeon.monsterHpRng,
+				AbstractDungeon.aiRng,
+				AbstractDungeon.shuffleRng,
+				AbstractDungeon.cardRandomRng,
+				AbstractDungeon.miscRng
+		};
+	}
+
+	private static void restoreDungeonRngs(Random[] rngs)
+	{
+		AbstractDungeon.monsterRng = rngs[0];
+		AbstractDungeon.eventRng = rngs[1];
+		AbstractDungeon.merchantRng = rngs[2];
+		AbstractDungeon.cardRng = rngs[3];
+		AbstractDungeon.treasureRng = rngs[4];
+		AbstractDungeon.relicRng = rngs[5];
+		AbstractDungeon.potionRng = rngs[6];
+		AbstractDungeon.monsterHpRng = rngs[7];
+		AbstractDungeon.aiRng = rngs[8];
+		AbstractDungeon.shuffleRng = rngs[9];
+		AbstractDungeon.cardRandomRng = rngs[10];
+		AbstractDungeon.miscRng = rngs[11];
+	}
+
 	public static void addMonster(String encounterID, GetMonster monster) {
 		addMonster(encounterID, () -> new MonsterGroup(monster.get()));
 	}
@@ -1374,13 +1427,18 @@ public class BaseMod {
 		addMonster(encounterID, name, () -> new MonsterGroup(monster.get()));
 	}
 
+	// the name is worked out from the group's monsters the first time it's needed
 	public static void addMonster(String encounterID, GetMonsterGroup group) {
-		addMonster(encounterID, autoCalculateMonsterName(group), group);
+		addMonster(encounterID, null, group);
 	}
 
 	public static void addMonster(String encounterID, String name, GetMonsterGroup group) {
 		customMonsters.put(encounterID, group);
-		customMonsterNames.put(encounterID, name);
+		if (name == null) {
+			customMonsterNames.remove(encounterID);
+		} else {
+			customMonsterNames.put(encounterID, name);
+		}
 		encounterList.add(encounterID);
 		if (encounterID.contains(" ")) {
 			underScoreEncounterIDs.put(encounterID.replace(' ', '_'), encounterID);
@@ -1396,7 +1454,21 @@ public class BaseMod {
 	}
 
 	public static String getMonsterName(String encounterID) {
-		return customMonsterNames.getOrDefault(encounterID, "");
+		String name = customMonsterNames.get(encounterID);
+		if (name == null) {
+			GetMonsterGroup group = customMonsters.get(encounterID);
+			if (group == null) {
+				return "";
+			}
+			try {
+				name = autoCalculateMonsterName(group);
+			} catch (RuntimeException e) {
+				logger.error("Failed to get the monster names of encounter " + encounterID, e);
+				name = encounterID;
+			}
+			customMonsterNames.put(encounterID, name);
+		}
+		return name;
 	}
 
 	public static boolean customMonsterExists(String encounterID) {
@@ -1462,12 +1534,13 @@ public class BaseMod {
 			bossMapOutline = mapIconOutline;
 		}
 
+		// Icons come from TextureCache, give them back with TextureCache.release instead of disposing them
 		public Texture loadBossMap() {
-			return ImageMaster.loadImage(bossMap);
+			return TextureCache.acquire(bossMap);
 		}
 
 		public Texture loadBossMapOutline() {
-			return ImageMaster.loadImage(bossMapOutline);
+			return TextureCache.acquire(bossMapOutline);
 		}
 	}
 
@@ -1726,22 +1799,40 @@ public class BaseMod {
 
 	// generate character options for CharacterSelectScreen based on added
 	// players
+	// The select screen regenerates its options every time it's initialized. The textures of the
+	// previous set are released once the new set has taken its own references, so the ones that are
+	// still in use aren't reloaded.
 	public static ArrayList<CharacterOption> generateCharacterOptions() {
+		TextureCache.Scope previousTextures = characterOptionTextures;
+		characterOptionTextures = new TextureCache.Scope();
 		ArrayList<CharacterOption> options = new ArrayList<>();
 		for (AbstractPlayer character : getModdedCharacters()) {
 			CharacterOption option = new CharacterOption(
 					character.getLocalizedCharacterName(),
 					CardCrawlGame.characterManager.recreateCharacter(character.chosenClass),
-					ImageMaster.loadImage(playerSelectButtonMap.get(character.chosenClass)),
-					ImageMaster.loadImage(playerPortraitMap.get(character.chosenClass))
+					characterOptionTextures.acquire(playerSelectButtonMap.get(character.chosenClass)),
+					characterOptionTextures.acquire(playerPortraitMap.get(character.chosenClass))
 			);
 			options.add(option);
 		}
+		previousTextures.release();
 		// Sort alphabetically by character name
 		options.sort(Comparator.comparing(o -> o.name));
 		return options;
 	}
 
+	private static TextureCache.Scope characterOptionTextures = new TextureCache.Scope();
+
+	// the portrait shown behind a modded character on the select screen. Shares the texture loaded
+	// for its CharacterOption, so selecting a character again doesn't load another copy
+	public static Texture getPlayerPortraitTexture(PlayerClass playerClass) {
+		String path = playerPortraitMap.get(playerClass);
+		if (path == null) {
+			return null;
+		}
+		return characterOptionTextures.acquireOnce(path);
+	}
+
 	// generate character options for CustomModeScreen based on added players
 	public static ArrayList<CustomModeCharacterButton> generateCustomCharacterOptions() {
 		ArrayList<CustomModeCharacterButton> options = new ArrayList<>();
@@ -1824,6 +1915,7 @@ public class BaseMod {
 
 		customRelicPools.remove(color);
 		customRelicLists.remove(color, new ArrayList<AbstractRelic>());
+		RelicRegistry.removePool(color);
 	}
 
 	public static List<AbstractCard.CardColor> getCardColors() {
@@ -2062,6 +2154,7 @@ public class BaseMod {
 
 	public static void removePotion(String potionID) {
 		potionsToRemove.add(potionID);
+		++potionsVersion;
 	}
 
 	// add the Potion to the map
@@ -2074,6 +2167,7 @@ public class BaseMod {
 		potionHybridColorMap.put(potionID, hybridColor);
 		potionSpotsColorMap.put(potionID, spotsColor);
 		potionPlayerClassMap.put(potionID, playerClass);
+		++potionsVersion;
 	}
 
 	// return Class corresponding to potionID
@@ -2103,6 +2197,11 @@ public class BaseMod {
 		return potionClassMap.keySet();
 	}
 
+	// getPotionsVersion - changes whenever a potion is added or removed
+	public static long getPotionsVersion() {
+		return potionsVersion;
+	}
+
 	//
 	// Powers
 	//
@@ -2112,6 +2211,7 @@ public class BaseMod {
 		if (powerID.contains(" ")) {
 			underScorePowerIDs.put(powerID.replace(' ', '_'), powerID);
 		}
+		++powersVersion;
 	}
 
 	public static Class<? extends AbstractPower> getPowerClass(String powerID) {
@@ -2122,6 +2222,16 @@ public class BaseMod {
 		return powerMap.keySet();
 	}
 
+	// getPowersVersion - changes whenever a power is added
+	public static long getPowersVersion() {
+		return powersVersion;
+	}
+
+	// getLocalizationVersion - changes whenever localization strings are loaded
+	public static long getLocalizationVersion() {
+		return LocalizationLoader.installs;
+	}
+
 	//
 	// Save files
 	//
@@ -2164,10 +2274,12 @@ public class BaseMod {
 	// publishStartAct -
 	public static void publishStartAct() {
 		logger.info("publishStartAct");
-		for (StartActSubscriber sub : startActSubscribers) {
+		for (StartActSubscriber sub : startActSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveStartAct();
+			DispatchProfiler.end("publishStartAct", sub, profileStart);
 		}
-		unsubscribeLaterHelper(StartActSubscriber.class);
+		startActSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostCampfire - false allows an additional option to be selected
@@ -2176,94 +2288,126 @@ public class BaseMod {
 
 		boolean campfireDone = true;
 
-		for (PostCampfireSubscriber sub : postCampfireSubscribers) {
+		for (PostCampfireSubscriber sub : postCampfireSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			if (!sub.receivePostCampfire()) {
 				campfireDone = false;
 			}
+			DispatchProfiler.end("publishPostCampfire", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostCampfireSubscriber.class);
+		postCampfireSubscribers.applyPendingRemovals();
 
 		return campfireDone;
 	}
 
 	// publishPostDraw -
 	public static void publishPostDraw(AbstractCard c) {
-		logger.info("publishPostDraw");
-		for (PostDrawSubscriber sub : postDrawSubscribers) {
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPostDraw", c == null ? null : c.cardID);
+		}
+		for (PostDrawSubscriber sub : postDrawSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostDraw(c);
+			DispatchProfiler.end("publishPostDraw", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostDrawSubscriber.class);
+		postDrawSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostExhaust -
 	public static void publishPostExhaust(AbstractCard c) {
-		logger.info("publishPostExhaust");
-		for (PostExhaustSubscriber sub : postExhaustSubscribers) {
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPostExhaust", c == null ? null : c.cardID);
+		}
+		for (PostExhaustSubscriber sub : postExhaustSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostExhaust(c);
+			DispatchProfiler.end("publishPostExhaust", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostExhaustSubscriber.class);
+		postExhaustSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostDungeonInitialize -
 	public static void publishPostDungeonInitialize() {
 		logger.info("publishPostDungeonInitialize");
 
-		for (PostDungeonInitializeSubscriber sub : postDungeonInitializeSubscribers) {
+		for (PostDungeonInitializeSubscriber sub : postDungeonInitializeSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostDungeonInitialize();
+			DispatchProfiler.end("publishPostDungeonInitialize", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostDungeonInitializeSubscriber.class);
+		postDungeonInitializeSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostEnergyRecharge -
 	public static void publishPostEnergyRecharge() {
-		logger.info("publishPostEnergyRecharge");
-		for (PostEnergyRechargeSubscriber sub : postEnergyRechargeSubscribers) {
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPostEnergyRecharge");
+		}
+		for (PostEnergyRechargeSubscriber sub : postEnergyRechargeSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostEnergyRecharge();
+			DispatchProfiler.end("publishPostEnergyRecharge", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostEnergyRechargeSubscriber.class);
+		postEnergyRechargeSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostInitialize -
 	public static void publishPostInitialize() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishPostInitialize");
 		logger.info("publishPostInitialize");
 
 		// setup the necessary bits for custom animations to work
 		setupAnimationGfx();
 
 		// Publish
-		for (PostInitializeSubscriber sub : postInitializeSubscribers) {
+		for (PostInitializeSubscriber sub : postInitializeSubscribers.getSubscribers()) {
+			BootProfiler.Phase bootPhase = BootProfiler.begin("publishPostInitialize", sub);
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostInitialize();
+			DispatchProfiler.end("publishPostInitialize", sub, profileStart);
+			BootProfiler.end(bootPhase);
 		}
-		unsubscribeLaterHelper(PostInitializeSubscriber.class);
+		postInitializeSubscribers.applyPendingRemovals();
+
+		AutoAdd.clearCache();
+
+		BootProfiler.end(publishPhase);
+		BootProfiler.finish();
 	}
 
 	// publishPreMonsterTurn - false skips monster turn
 	public static boolean publishPreMonsterTurn(AbstractMonster m) {
-		logger.info("publishPreMonsterTurn");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPreMonsterTurn", m == null ? null : m.id);
+		}
 
 		boolean takeTurn = true;
 
-		for (PreMonsterTurnSubscriber sub : preMonsterTurnSubscribers) {
+		for (PreMonsterTurnSubscriber sub : preMonsterTurnSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			if (!sub.receivePreMonsterTurn(m)) {
 				takeTurn = false;
 			}
+			DispatchProfiler.end("publishPreMonsterTurn", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PreMonsterTurnSubscriber.class);
+		preMonsterTurnSubscribers.applyPendingRemovals();
 
 		return takeTurn;
 	}
 
 	// publishRender -
 	public static void publishRender(SpriteBatch sb) {
-		for (RenderSubscriber sub : renderSubscribers) {
+		for (RenderSubscriber sub : renderSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveRender(sb);
+			DispatchProfiler.end("publishRender", sub, profileStart);
 		}
-		unsubscribeLaterHelper(RenderSubscriber.class);
+		renderSubscribers.applyPendingRemovals();
 	}
 
 	// publishAnimationRender -
 	public static void publishAnimationRender(SpriteBatch sb) {
-		if (modelRenderSubscribers.size() > 0) {
+		if (!modelRenderSubscribers.isEmpty()) {
 			// custom animations
 			sb.end();
 			CardCrawlGame.psb.begin();
@@ -2277,19 +2421,23 @@ public class BaseMod {
 
 	// publishPreRender -
 	public static void publishPreRender(OrthographicCamera camera) {
-		for (PreRenderSubscriber sub : preRenderSubscribers) {
+		for (PreRenderSubscriber sub : preRenderSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveCameraRender(camera);
+			DispatchProfiler.end("publishPreRender", sub, profileStart);
 		}
 
-		if (modelRenderSubscribers.size() > 0) {
+		if (!modelRenderSubscribers.isEmpty()) {
 			// custom animations
 			animationBuffer.begin();
 			Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
 			Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 			batch.begin(animationCamera);
 
-			for (ModelRenderSubscriber sub : modelRenderSubscribers) {
+			for (ModelRenderSubscriber sub : modelRenderSubscribers.getSubscribers()) {
+				long profileStart = DispatchProfiler.begin();
 				sub.receiveModelRender(batch, animationEnvironment);
+				DispatchProfiler.end("publishModelRender", sub, profileStart);
 			}
 
 			batch.end();
@@ -2299,16 +2447,18 @@ public class BaseMod {
 			animationTextureRegion.flip(false, true);
 		}
 
-		unsubscribeLaterHelper(PreRenderSubscriber.class);
-		unsubscribeLaterHelper(ModelRenderSubscriber.class);
+		preRenderSubscribers.applyPendingRemovals();
+		modelRenderSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostRender -
 	public static void publishPostRender(SpriteBatch sb) {
-		for (PostRenderSubscriber sub : postRenderSubscribers) {
+		for (PostRenderSubscriber sub : postRenderSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostRender(sb);
+			DispatchProfiler.end("publishPostRender", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostRenderSubscriber.class);
+		postRenderSubscribers.applyPendingRemovals();
 	}
 
 	// publishPreStartGame -
@@ -2317,79 +2467,97 @@ public class BaseMod {
 
 		MAX_HAND_SIZE = DEFAULT_MAX_HAND_SIZE;
 		// Publish
-		for (PreStartGameSubscriber sub : preStartGameSubscribers) {
+		for (PreStartGameSubscriber sub : preStartGameSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePreStartGame();
+			DispatchProfiler.end("publishPreStartGame", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PreStartGameSubscriber.class);
+		preStartGameSubscribers.applyPendingRemovals();
 	}
 
 	public static void publishStartGame() {
 		logger.info("publishStartGame");
 
-		for (StartGameSubscriber sub : startGameSubscribers) {
+		for (StartGameSubscriber sub : startGameSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveStartGame();
+			DispatchProfiler.end("publishStartGame", sub, profileStart);
 		}
 
 		logger.info("mapDensityMultiplier: " + mapPathDensityMultiplier);
 
-		unsubscribeLaterHelper(StartGameSubscriber.class);
+		startGameSubscribers.applyPendingRemovals();
 	}
 
 	// publishPreUpdate -
 	public static void publishPreUpdate() {
-		for (PreUpdateSubscriber sub : preUpdateSubscribers) {
+		for (PreUpdateSubscriber sub : preUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePreUpdate();
+			DispatchProfiler.end("publishPreUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PreUpdateSubscriber.class);
+		preUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostUpdate -
 	public static void publishPostUpdate() {
-		for (PostUpdateSubscriber sub : postUpdateSubscribers) {
+		for (PostUpdateSubscriber sub : postUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostUpdate();
+			DispatchProfiler.end("publishPostUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostUpdateSubscriber.class);
+		postUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostDungeonUpdate -
 	public static void publishPostDungeonUpdate() {
-		for(PostDungeonUpdateSubscriber sub : postDungeonUpdateSubscribers) {
+		for (PostDungeonUpdateSubscriber sub : postDungeonUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostDungeonUpdate();
+			DispatchProfiler.end("publishPostDungeonUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostDungeonUpdateSubscriber.class);
+		postDungeonUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPreDungeonUpdate -
 	public static void publishPreDungeonUpdate() {
-		for(PreDungeonUpdateSubscriber sub : preDungeonUpdateSubscribers) {
+		for (PreDungeonUpdateSubscriber sub : preDungeonUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePreDungeonUpdate();
+			DispatchProfiler.end("publishPreDungeonUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PreDungeonUpdateSubscriber.class);
+		preDungeonUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostPlayerUpdate -
 	public static void publishPostPlayerUpdate() {
-		for(PostPlayerUpdateSubscriber sub : postPlayerUpdateSubscribers) {
+		for (PostPlayerUpdateSubscriber sub : postPlayerUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostPlayerUpdate();
+			DispatchProfiler.end("publishPostPlayerUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostPlayerUpdateSubscriber.class);
+		postPlayerUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPrePlayerUpdate -
 	public static void publishPrePlayerUpdate() {
-		for(PrePlayerUpdateSubscriber sub : prePlayerUpdateSubscribers) {
+		for (PrePlayerUpdateSubscriber sub : prePlayerUpdateSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePrePlayerUpdate();
+			DispatchProfiler.end("publishPrePlayerUpdate", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PrePlayerUpdateSubscriber.class);
+		prePlayerUpdateSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostCreateStartingDeck -
 	public static void publishPostCreateStartingDeck(PlayerClass chosenClass, CardGroup cards) {
 		logger.info("postCreateStartingDeck for: " + chosenClass);
 
-		for (PostCreateStartingDeckSubscriber sub : postCreateStartingDeckSubscribers) {
+		for (PostCreateStartingDeckSubscriber sub : postCreateStartingDeckSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			logger.info("postCreateStartingDeck modifying starting deck for: " + sub);
 			sub.receivePostCreateStartingDeck(chosenClass, cards);
+			DispatchProfiler.end("publishPostCreateStartingDeck", sub, profileStart);
 		}
 
 		StringBuilder logString = new StringBuilder("postCreateStartingDeck adding [ ");
@@ -2399,16 +2567,18 @@ public class BaseMod {
 		logString.append("]");
 		logger.info(logString.toString());
 
-		unsubscribeLaterHelper(PostCreateStartingDeckSubscriber.class);
+		postCreateStartingDeckSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostCreateStartingRelics -
 	public static void publishPostCreateStartingRelics(PlayerClass chosenClass, ArrayList<String> relics) {
 		logger.info("postCreateStartingRelics for: " + chosenClass);
 
-		for (PostCreateStartingRelicsSubscriber sub : postCreateStartingRelicsSubscribers) {
+		for (PostCreateStartingRelicsSubscriber sub : postCreateStartingRelicsSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			logger.info("postCreateStartingRelics modifying starting relics for: " + sub);
 			sub.receivePostCreateStartingRelics(chosenClass, relics);
+			DispatchProfiler.end("publishPostCreateStartingRelics", sub, profileStart);
 		}
 
 		StringBuilder logString = new StringBuilder("postCreateStartingRelics adding [ ");
@@ -2424,211 +2594,307 @@ public class BaseMod {
 		}
 
 		AbstractDungeon.relicsToRemoveOnStart.addAll(relics);
-		unsubscribeLaterHelper(PostCreateStartingRelicsSubscriber.class);
+		postCreateStartingRelicsSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostCreateShopRelic -
 	public static void publishPostCreateShopRelics(ArrayList<StoreRelic> relics, ShopScreen screenInstance) {
 		logger.info("postCreateShopRelics for: " + relics);
 
-		for (PostCreateShopRelicSubscriber sub : postCreateShopRelicSubscribers) {
+		for (PostCreateShopRelicSubscriber sub : postCreateShopRelicSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveCreateShopRelics(relics, screenInstance);
+			DispatchProfiler.end("publishPostCreateShopRelics", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostCreateShopRelicSubscriber.class);
+		postCreateShopRelicSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostCreateShopPotion -
 	public static void publishPostCreateShopPotions(ArrayList<StorePotion> potions, ShopScreen screenInstance) {
 		logger.info("postCreateShopPotions for: " + potions);
 
-		for (PostCreateShopPotionSubscriber sub : postCreateShopPotionSubscribers) {
+		for (PostCreateShopPotionSubscriber sub : postCreateShopPotionSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveCreateShopPotions(potions, screenInstance);
+			DispatchProfiler.end("publishPostCreateShopPotions", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostCreateShopPotionSubscriber.class);
+		postCreateShopPotionSubscribers.applyPendingRemovals();
 	}
 
 	// publishEditCards -
 	public static void publishEditCards() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishEditCards");
 		logger.info("begin editing cards");
 
 		BaseMod.addDynamicVariable(new DamageVariable());
 		BaseMod.addDynamicVariable(new BlockVariable());
 		BaseMod.addDynamicVariable(new MagicNumberVariable());
 
-		for (EditCardsSubscriber sub : editCardsSubscribers) {
-			sub.receiveEditCards();
+		// card images are decoded in the background while subscribers register cards
+		CustomCard.beginImageBatch();
+		try {
+			for (EditCardsSubscriber sub : editCardsSubscribers.getSubscribers()) {
+				BootProfiler.Phase bootPhase = BootProfiler.begin("publishEditCards", sub);
+				long profileStart = DispatchProfiler.begin();
+				sub.receiveEditCards();
+				DispatchProfiler.end("publishEditCards", sub, profileStart);
+				BootProfiler.end(bootPhase);
+			}
+		} finally {
+			CustomCard.finishImageBatch();
 		}
-		unsubscribeLaterHelper(EditCardsSubscriber.class);
+		editCardsSubscribers.applyPendingRemovals();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishEditRelics -
 	public static void publishEditRelics() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishEditRelics");
 		logger.info("begin editing relics");
 
-		for (EditRelicsSubscriber sub : editRelicsSubscribers) {
+		for (EditRelicsSubscriber sub : editRelicsSubscribers.getSubscribers()) {
+			BootProfiler.Phase bootPhase = BootProfiler.begin("publishEditRelics", sub);
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveEditRelics();
+			DispatchProfiler.end("publishEditRelics", sub, profileStart);
+			BootProfiler.end(bootPhase);
 		}
-		unsubscribeLaterHelper(EditRelicsSubscriber.class);
+		editRelicsSubscribers.applyPendingRemovals();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishEditCharacters -
 	public static void publishEditCharacters() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishEditCharacters");
 		logger.info("begin editing characters");
 
 		lastBaseCharacterIndex = CardCrawlGame.characterManager.getAllCharacters().size() - 1;
 
-		for (EditCharactersSubscriber sub : editCharactersSubscribers) {
+		for (EditCharactersSubscriber sub : editCharactersSubscribers.getSubscribers()) {
+			BootProfiler.Phase bootPhase = BootProfiler.begin("publishEditCharacters", sub);
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveEditCharacters();
+			DispatchProfiler.end("publishEditCharacters", sub, profileStart);
+			BootProfiler.end(bootPhase);
 		}
-		unsubscribeLaterHelper(EditCharactersSubscriber.class);
+		editCharactersSubscribers.applyPendingRemovals();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishEditStrings -
 	public static void publishEditStrings() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishEditStrings");
 		logger.info("begin editing localization strings");
 
-		BaseMod.loadCustomStringsFile(RunModStrings.class, "localization/basemod/customMods.json");
-
-		for (EditStringsSubscriber sub : editStringsSubscribers) {
-			sub.receiveEditStrings();
+		// the files a subscriber loads are parsed in parallel and installed once it returns
+		if (localizationLoader == null) {
+			localizationLoader = new LocalizationLoader(gson, typeMaps);
 		}
-		unsubscribeLaterHelper(EditStringsSubscriber.class);
+		localizationLoader.beginBatch();
+		try {
+			BaseMod.loadCustomStringsFile(RunModStrings.class, "localization/basemod/customMods.json");
+			localizationLoader.flush();
+
+			for (EditStringsSubscriber sub : editStringsSubscribers.getSubscribers()) {
+				BootProfiler.Phase bootPhase = BootProfiler.begin("publishEditStrings", sub);
+				long profileStart = DispatchProfiler.begin();
+				sub.receiveEditStrings();
+				DispatchProfiler.end("publishEditStrings", sub, profileStart);
+				BootProfiler.end(bootPhase);
+				localizationLoader.flush();
+			}
+			editStringsSubscribers.applyPendingRemovals();
+		} catch (RuntimeException | Error e) {
+			// don't let anything still queued hide what went wrong
+			localizationLoader.abortBatch();
+			throw e;
+		}
+		localizationLoader.finishBatch();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishAddAudio -
 	public static void publishAddAudio(SoundMaster __instance) {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishAddAudio");
 		logger.info("begin adding custom sounds");
 
-		for (AddAudioSubscriber sub : addAudioSubscribers) {
+		for (AddAudioSubscriber sub : addAudioSubscribers.getSubscribers()) {
+			BootProfiler.Phase bootPhase = BootProfiler.begin("publishAddAudio", sub);
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveAddAudio();
+			DispatchProfiler.end("publishAddAudio", sub, profileStart);
+			BootProfiler.end(bootPhase);
 		}
 
 		BaseMod.addAudioToSoundMaster(__instance);
 
-		unsubscribeLaterHelper(AddAudioSubscriber.class);
+		addAudioSubscribers.applyPendingRemovals();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishPostBattle -
 	public static void publishPostBattle(AbstractRoom battleRoom) {
 		logger.info("publish post combat");
 
-		for (PostBattleSubscriber sub : postBattleSubscribers) {
+		for (PostBattleSubscriber sub : postBattleSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostBattle(battleRoom);
+			DispatchProfiler.end("publishPostBattle", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostBattleSubscriber.class);
+		postBattleSubscribers.applyPendingRemovals();
 	}
 
 	public static void publishStartBattle(AbstractRoom room){
 		logger.info("publish start battle");
 
-		for (OnStartBattleSubscriber sub : startBattleSubscribers) {
+		for (OnStartBattleSubscriber sub : startBattleSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveOnBattleStart(room);
+			DispatchProfiler.end("publishStartBattle", sub, profileStart);
 		}
-		unsubscribeLaterHelper(OnStartBattleSubscriber.class);
+		startBattleSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostRefresh -
 	public static void publishPostRefresh() {
 		logger.info("publish post refresh - refreshing unlocks");
 
-		for (SetUnlocksSubscriber sub : setUnlocksSubscribers) {
+		for (SetUnlocksSubscriber sub : setUnlocksSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveSetUnlocks();
+			DispatchProfiler.end("publishPostRefresh", sub, profileStart);
 		}
 
 		CountModdedUnlockCards.enabled = true;
 		CountModdedUnlockCards.countModdedUnlocks(); //call it manually, as the count occurs during refresh normally.
 
-		unsubscribeLaterHelper(SetUnlocksSubscriber.class);
+		setUnlocksSubscribers.applyPendingRemovals();
 	}
 
 	// publishOnCardUse -
 	public static void publishOnCardUse(AbstractCard c) {
-		logger.info("publish on card use: " + (c == null ? "null" : c.cardID));
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishOnCardUse", c == null ? null : c.cardID);
+		}
 
-		for (OnCardUseSubscriber sub : onCardUseSubscribers) {
+		for (OnCardUseSubscriber sub : onCardUseSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveCardUsed(c);
+			DispatchProfiler.end("publishOnCardUse", sub, profileStart);
 		}
-		unsubscribeLaterHelper(OnCardUseSubscriber.class);
+		onCardUseSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostUsePotion -
 	public static void publishPostPotionUse(AbstractPotion p) {
-		logger.info("publish on post potion use");
-		for (PostPotionUseSubscriber sub : postPotionUseSubscribers) {
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPostPotionUse", p == null ? null : p.ID);
+		}
+		for (PostPotionUseSubscriber sub : postPotionUseSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostPotionUse(p);
+			DispatchProfiler.end("publishPostPotionUse", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostPotionUseSubscriber.class);
+		postPotionUseSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostPotionUse -
 	public static void publishPrePotionUse(AbstractPotion p) {
-		logger.info("publish on pre potion use");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPrePotionUse", p == null ? null : p.ID);
+		}
 
-		for (PrePotionUseSubscriber sub : prePotionUseSubscribers) {
+		for (PrePotionUseSubscriber sub : prePotionUseSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePrePotionUse(p);
+			DispatchProfiler.end("publishPrePotionUse", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PrePotionUseSubscriber.class);
+		prePotionUseSubscribers.applyPendingRemovals();
 	}
 
 	// publishPotionGet -
 	public static void publishPotionGet(AbstractPotion p) {
-		logger.info("publish on potion get");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPotionGet", p == null ? null : p.ID);
+		}
 
-		for (PotionGetSubscriber sub : potionGetSubscribers) {
+		for (PotionGetSubscriber sub : potionGetSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePotionGet(p);
+			DispatchProfiler.end("publishPotionGet", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PotionGetSubscriber.class);
+		potionGetSubscribers.applyPendingRemovals();
 	}
 
 	// publishRelicGet -
 	public static void publishRelicGet(AbstractRelic r) {
-		logger.info("publish on relic get");
-		for (RelicGetSubscriber sub : relicGetSubscribers) {
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishRelicGet", r == null ? null : r.relicId);
+		}
+		for (RelicGetSubscriber sub : relicGetSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveRelicGet(r);
+			DispatchProfiler.end("publishRelicGet", sub, profileStart);
 		}
-		unsubscribeLaterHelper(RelicGetSubscriber.class);
+		relicGetSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostPowerApply
 	public static void publishPostPowerApply(AbstractPower p, AbstractCreature target, AbstractCreature source) {
-		logger.info("publish on post power apply");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishPostPowerApply", p == null ? null : p.ID, target == null ? null : target.name);
+		}
 
-		for (PostPowerApplySubscriber sub : postPowerApplySubscribers) {
+		for (PostPowerApplySubscriber sub : postPowerApplySubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostPowerApplySubscriber(p, target, source);
+			DispatchProfiler.end("publishPostPowerApply", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostPowerApplySubscriber.class);
+		postPowerApplySubscribers.applyPendingRemovals();
 	}
 
 	// publishEditKeywords
 	public static void publishEditKeywords() {
+		BootProfiler.Phase publishPhase = BootProfiler.begin("publishEditKeywords");
 		logger.info("editting keywords");
 
 		addKeyword(new String[] { "[E]" }, GameDictionary.TEXT[0]);
 
-		for (EditKeywordsSubscriber sub : editKeywordsSubscribers) {
+		for (EditKeywordsSubscriber sub : editKeywordsSubscribers.getSubscribers()) {
+			BootProfiler.Phase bootPhase = BootProfiler.begin("publishEditKeywords", sub);
+			long profileStart = DispatchProfiler.begin();
 			sub.receiveEditKeywords();
+			DispatchProfiler.end("publishEditKeywords", sub, profileStart);
+			BootProfiler.end(bootPhase);
 		}
-		unsubscribeLaterHelper(EditKeywordsSubscriber.class);
+		editKeywordsSubscribers.applyPendingRemovals();
+		BootProfiler.end(publishPhase);
 	}
 
 	// publishOnPowersModified
 	public static void publishOnPowersModified() {
-		logger.info("powers modified");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishOnPowersModified");
+		}
 
-		for (OnPowersModifiedSubscriber sub : onPowersModifiedSubscribers) {
+		for (OnPowersModifiedSubscriber sub : onPowersModifiedSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePowersModified();
+			DispatchProfiler.end("publishOnPowersModified", sub, profileStart);
 		}
-		unsubscribeLaterHelper(OnPowersModifiedSubscriber.class);
+		onPowersModifiedSubscribers.applyPendingRemovals();
 	}
 
 	// publishPostDeath - Is triggered on death and victory
 	public static void publishPostDeath() {
 		logger.info("publishPostDeath");
 
-		for (PostDeathSubscriber sub : postDeathSubscribers) {
+		for (PostDeathSubscriber sub : postDeathSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePostDeath();
+			DispatchProfiler.end("publishPostDeath", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostDeathSubscriber.class);
+		postDeathSubscribers.applyPendingRemovals();
 	}
 
 	public static void publishAddCustomModeMods(List<CustomMod> modList) {
@@ -2648,13 +2914,15 @@ public class BaseMod {
 			insertCustomMod(modList, mod);
 		}
 
-		for (AddCustomModeModsSubscriber sub : addCustomModeModsSubscribers) {
+		for (AddCustomModeModsSubscriber sub : addCustomModeModsSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			List<CustomMod> tmpModList = new ArrayList<>();
 			sub.receiveCustomModeMods(tmpModList);
 
 			tmpModList.forEach(m -> insertCustomMod(modList, m));
+			DispatchProfiler.end("publishAddCustomModeMods", sub, profileStart);
 		}
-		unsubscribeLaterHelper(AddCustomModeModsSubscriber.class);
+		addCustomModeModsSubscribers.applyPendingRemovals();
 	}
 
 	private static void insertCustomMod(List<CustomMod> modList, CustomMod mod)
@@ -2669,42 +2937,57 @@ public class BaseMod {
 	}
 
 	public static int publishMaxHPChange(int amount) {
-		logger.info("publishMaxHPChange");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishMaxHPChange", amount);
+		}
 
-		for (MaxHPChangeSubscriber sub : maxHPChangeSubscribers) {
+		for (MaxHPChangeSubscriber sub : maxHPChangeSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			amount = sub.receiveMapHPChange(amount);
+			DispatchProfiler.end("publishMaxHPChange", sub, profileStart);
 		}
-		unsubscribeLaterHelper(PostDeathSubscriber.class);
+		maxHPChangeSubscribers.applyPendingRemovals();
 
 		return amount;
 	}
 
 	public static void publishPreRoomRender(SpriteBatch sb) {
-		for(PreRoomRenderSubscriber sub : preRoomRenderSubscribers) {
+		for (PreRoomRenderSubscriber sub : preRoomRenderSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			sub.receivePreRoomRender(sb);
+			DispatchProfiler.end("publishPreRoomRender", sub, profileStart);
 		}
+		preRoomRenderSubscribers.applyPendingRemovals();
 	}
 
 	// publishOnPlayerLoseBlock
 	public static int publishOnPlayerLoseBlock(int amount) {
-		logger.info("publish on Player Lose Block");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishOnPlayerLoseBlock", amount);
+		}
 
-		for (OnPlayerLoseBlockSubscriber sub : onPlayerLoseBlockSubscribers) {
+		for (OnPlayerLoseBlockSubscriber sub : onPlayerLoseBlockSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			amount = sub.receiveOnPlayerLoseBlock(amount);
+			DispatchProfiler.end("publishOnPlayerLoseBlock", sub, profileStart);
 		}
 
-		unsubscribeLaterHelper(OnPlayerLoseBlockSubscriber.class);
+		onPlayerLoseBlockSubscribers.applyPendingRemovals();
 		return amount;
 	}
 
 	public static int publishOnPlayerDamaged(int amount, DamageInfo info) {
-		logger.info("publish on Player Damaged");
+		if (HookTrace.enabled) {
+			HookTrace.trace("publishOnPlayerDamaged", amount, info == null ? null : info.type);
+		}
 
-		for (OnPlayerDamagedSubscriber sub : onPlayerDamagedSubscribers) {
+		for (OnPlayerDamagedSubscriber sub : onPlayerDamagedSubscribers.getSubscribers()) {
+			long profileStart = DispatchProfiler.begin();
 			amount = sub.receiveOnPlayerDamaged(amount, info);
+			DispatchProfiler.end("publishOnPlayerDamaged", sub, profileStart);
 		}
 
-		unsubscribeLaterHelper(OnPlayerDamagedSubscriber.class);
+		onPlayerDamagedSubscribers.applyPendingRemovals();
 		return amount;
 	}
 
@@ -2712,325 +2995,48 @@ public class BaseMod {
 	// Subscription handlers
 	//
 
-	// unsubscribes all elements of toRemove that are of type removalClass
-	private static void unsubscribeLaterHelper(Class<? extends ISubscriber> removalClass) {
-		for (ISubscriber sub : toRemove) {
-			if (removalClass.isInstance(sub)) {
-				unsubscribe(sub, removalClass);
-			}
-		}
-	}
-
-	private static <T> void subscribeIfInstance(ArrayList<T> list, ISubscriber sub, Class<T> clazz) {
-		if (clazz.isInstance(sub)) {
-			list.add(clazz.cast(sub));
-		}
-	}
-
-	private static <T> void unsubscribeIfInstance(ArrayList<T> list, ISubscriber sub, Class<T> clazz) {
-		if (clazz.isInstance(sub)) {
-			list.remove(clazz.cast(sub));
-		}
-	}
-
 	// subscribe -
 	// will subscribe to all lists this sub implements
 	public static void subscribe(ISubscriber sub) {
-		subscribeIfInstance(startActSubscribers, sub, StartActSubscriber.class);
-		subscribeIfInstance(postCampfireSubscribers, sub, PostCampfireSubscriber.class);
-		subscribeIfInstance(postDrawSubscribers, sub, PostDrawSubscriber.class);
-		subscribeIfInstance(postExhaustSubscribers, sub, PostExhaustSubscriber.class);
-		subscribeIfInstance(onCardUseSubscribers, sub, OnCardUseSubscriber.class);
-		subscribeIfInstance(postDungeonInitializeSubscribers, sub, PostDungeonInitializeSubscriber.class);
-		subscribeIfInstance(postEnergyRechargeSubscribers, sub, PostEnergyRechargeSubscriber.class);
-		subscribeIfInstance(postInitializeSubscribers, sub, PostInitializeSubscriber.class);
-		subscribeIfInstance(preMonsterTurnSubscribers, sub, PreMonsterTurnSubscriber.class);
-		subscribeIfInstance(renderSubscribers, sub, RenderSubscriber.class);
-		subscribeIfInstance(preRenderSubscribers, sub, PreRenderSubscriber.class);
-		subscribeIfInstance(postRenderSubscribers, sub, PostRenderSubscriber.class);
-		subscribeIfInstance(modelRenderSubscribers, sub, ModelRenderSubscriber.class);
-		subscribeIfInstance(preStartGameSubscribers, sub, PreStartGameSubscriber.class);
-		subscribeIfInstance(startGameSubscribers, sub, StartGameSubscriber.class);
-		subscribeIfInstance(preUpdateSubscribers, sub, PreUpdateSubscriber.class);
-		subscribeIfInstance(postUpdateSubscribers, sub, PostUpdateSubscriber.class);
-		subscribeIfInstance(postDungeonUpdateSubscribers, sub, PostDungeonUpdateSubscriber.class);
-		subscribeIfInstance(preDungeonUpdateSubscribers, sub, PreDungeonUpdateSubscriber.class);
-		subscribeIfInstance(postPlayerUpdateSubscribers, sub, PostPlayerUpdateSubscriber.class);
-		subscribeIfInstance(prePlayerUpdateSubscribers, sub, PrePlayerUpdateSubscriber.class);
-		subscribeIfInstance(postCreateStartingDeckSubscribers, sub, PostCreateStartingDeckSubscriber.class);
-		subscribeIfInstance(postCreateStartingRelicsSubscribers, sub, PostCreateStartingRelicsSubscriber.class);
-		subscribeIfInstance(postCreateShopRelicSubscribers, sub, PostCreateShopRelicSubscriber.class);
-		subscribeIfInstance(postCreateShopPotionSubscribers, sub, PostCreateShopPotionSubscriber.class);
-		subscribeIfInstance(editCardsSubscribers, sub, EditCardsSubscriber.class);
-		subscribeIfInstance(addAudioSubscribers, sub, AddAudioSubscriber.class);
-		subscribeIfInstance(editRelicsSubscribers, sub, EditRelicsSubscriber.class);
-		subscribeIfInstance(editCharactersSubscribers, sub, EditCharactersSubscriber.class);
-		subscribeIfInstance(editStringsSubscribers, sub, EditStringsSubscriber.class);
-		subscribeIfInstance(editKeywordsSubscribers, sub, EditKeywordsSubscriber.class);
-		subscribeIfInstance(postBattleSubscribers, sub, PostBattleSubscriber.class);
-		subscribeIfInstance(setUnlocksSubscribers, sub, SetUnlocksSubscriber.class);
-		subscribeIfInstance(postPotionUseSubscribers, sub, PostPotionUseSubscriber.class);
-		subscribeIfInstance(prePotionUseSubscribers, sub, PrePotionUseSubscriber.class);
-		subscribeIfInstance(potionGetSubscribers, sub, PotionGetSubscriber.class);
-		subscribeIfInstance(relicGetSubscribers, sub, RelicGetSubscriber.class);
-		subscribeIfInstance(postPowerApplySubscribers, sub, PostPowerApplySubscriber.class);
-		subscribeIfInstance(onPowersModifiedSubscribers, sub, OnPowersModifiedSubscriber.class);
-		subscribeIfInstance(postDeathSubscribers, sub, PostDeathSubscriber.class);
-		subscribeIfInstance(startBattleSubscribers, sub, OnStartBattleSubscriber.class);
-		subscribeIfInstance(addCustomModeModsSubscribers, sub, AddCustomModeModsSubscriber.class);
-		subscribeIfInstance(maxHPChangeSubscribers, sub, MaxHPChangeSubscriber.class);
-		subscribeIfInstance(preRoomRenderSubscribers, sub, PreRoomRenderSubscriber.class);
-		subscribeIfInstance(onPlayerLoseBlockSubscribers, sub, OnPlayerLoseBlockSubscriber.class);
-		subscribeIfInstance(onPlayerDamagedSubscribers, sub, OnPlayerDamagedSubscriber.class);
+		subscribe(sub, SubscriberList.DEFAULT_PRIORITY);
+	}
+
+	// subscribe -
+	// will subscribe to all lists this sub implements, lower priority receives first
+	public static void subscribe(ISubscriber sub, int priority) {
+		eventBus.subscribe(sub, priority);
 	}
 
 	// subscribe -
 	// only subscribers to a specific list
 	public static void subscribe(ISubscriber sub, Class<? extends ISubscriber> additionClass) {
-		if (additionClass.equals(StartActSubscriber.class)) {
-			startActSubscribers.add((StartActSubscriber) sub);
-		} else if (additionClass.equals(PostCampfireSubscriber.class)) {
-			postCampfireSubscribers.add((PostCampfireSubscriber) sub);
-		} else if (additionClass.equals(PostDrawSubscriber.class)) {
-			postDrawSubscribers.add((PostDrawSubscriber) sub);
-		} else if (additionClass.equals(PostExhaustSubscriber.class)) {
-			postExhaustSubscribers.add((PostExhaustSubscriber) sub);
-		} else if (additionClass.equals(OnCardUseSubscriber.class)) {
-			onCardUseSubscribers.add((OnCardUseSubscriber) sub);
-		} else if (additionClass.equals(PostDungeonInitializeSubscriber.class)) {
-			postDungeonInitializeSubscribers.add((PostDungeonInitializeSubscriber) sub);
-		} else if (additionClass.equals(PostEnergyRechargeSubscriber.class)) {
-			postEnergyRechargeSubscribers.add((PostEnergyRechargeSubscriber) sub);
-		} else if (additionClass.equals(PostInitializeSubscriber.class)) {
-			postInitializeSubscribers.add((PostInitializeSubscriber) sub);
-		} else if (additionClass.equals(PreMonsterTurnSubscriber.class)) {
-			preMonsterTurnSubscribers.add((PreMonsterTurnSubscriber) sub);
-		} else if (additionClass.equals(RenderSubscriber.class)) {
-			renderSubscribers.add((RenderSubscriber) sub);
-		} else if (additionClass.equals(PreRenderSubscriber.class)) {
-			preRenderSubscribers.add((PreRenderSubscriber) sub);
-		} else if (additionClass.equals(PostRenderSubscriber.class)) {
-			postRenderSubscribers.add((PostRenderSubscriber) sub);
-		} else if (additionClass.equals(ModelRenderSubscriber.class)) {
-			modelRenderSubscribers.add((ModelRenderSubscriber) sub);
-		} else if (additionClass.equals(PreStartGameSubscriber.class)) {
-			preStartGameSubscribers.add((PreStartGameSubscriber) sub);
-		} else if (additionClass.equals(StartGameSubscriber.class)) {
-			startGameSubscribers.add((StartGameSubscriber) sub);
-		} else if (additionClass.equals(PreUpdateSubscriber.class)) {
-			preUpdateSubscribers.add((PreUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostUpdateSubscriber.class)) {
-			postUpdateSubscribers.add((PostUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostDungeonUpdateSubscriber.class)) {
-			postDungeonUpdateSubscribers.add((PostDungeonUpdateSubscriber) sub);
-		} else if (additionClass.equals(PreDungeonUpdateSubscriber.class)) {
-			preDungeonUpdateSubscribers.add((PreDungeonUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostPlayerUpdateSubscriber.class)) {
-			postPlayerUpdateSubscribers.add((PostPlayerUpdateSubscriber) sub);
-		} else if (additionClass.equals(PrePlayerUpdateSubscriber.class)) {
-			prePlayerUpdateSubscribers.add((PrePlayerUpdateSubscriber) sub);
-		} else if (additionClass.equals(PostCreateStartingDeckSubscriber.class)) {
-			postCreateStartingDeckSubscribers.add((PostCreateStartingDeckSubscriber) sub);
-		} else if (additionClass.equals(PostCreateStartingRelicsSubscriber.class)) {
-			postCreateStartingRelicsSubscribers.add((PostCreateStartingRelicsSubscriber) sub);
-		} else if (additionClass.equals(PostCreateShopRelicSubscriber.class)) {
-			postCreateShopRelicSubscribers.add((PostCreateShopRelicSubscriber) sub);
-		} else if (additionClass.equals(PostCreateShopPotionSubscriber.class)) {
-			postCreateShopPotionSubscribers.add((PostCreateShopPotionSubscriber) sub);
-		} else if (additionClass.equals(EditCardsSubscriber.class)) {
-			editCardsSubscribers.add((EditCardsSubscriber) sub);
-		} else if (additionClass.equals(EditRelicsSubscriber.class)) {
-			editRelicsSubscribers.add((EditRelicsSubscriber) sub);
-		} else if (additionClass.equals(EditCharactersSubscriber.class)) {
-			editCharactersSubscribers.add((EditCharactersSubscriber) sub);
-		} else if (additionClass.equals(EditStringsSubscriber.class)) {
-			editStringsSubscribers.add((EditStringsSubscriber) sub);
-		} else if (additionClass.equals(EditKeywordsSubscriber.class)) {
-			editKeywordsSubscribers.add((EditKeywordsSubscriber) sub);
-		} else if (additionClass.equals(PostBattleSubscriber.class)) {
-			postBattleSubscribers.add((PostBattleSubscriber) sub);
-		} else if (additionClass.equals(SetUnlocksSubscriber.class)) {
-			setUnlocksSubscribers.add((SetUnlocksSubscriber) sub);
-		} else if (additionClass.equals(PostPotionUseSubscriber.class)) {
-			postPotionUseSubscribers.add((PostPotionUseSubscriber) sub);
-		} else if (additionClass.equals(PrePotionUseSubscriber.class)) {
-			prePotionUseSubscribers.add((PrePotionUseSubscriber) sub);
-		} else if (additionClass.equals(PotionGetSubscriber.class)) {
-			potionGetSubscribers.add((PotionGetSubscriber) sub);
-		} else if (additionClass.equals(RelicGetSubscriber.class)) {
-			relicGetSubscribers.add((RelicGetSubscriber) sub);
-		} else if (additionClass.equals(PostPowerApplySubscriber.class)) {
-			postPowerApplySubscribers.add((PostPowerApplySubscriber) sub);
-		} else if (additionClass.equals(OnPowersModifiedSubscriber.class)) {
-			onPowersModifiedSubscribers.add((OnPowersModifiedSubscriber) sub);
-		} else if (additionClass.equals(PostDeathSubscriber.class)) {
-			postDeathSubscribers.add((PostDeathSubscriber) sub);
-		} else if (additionClass.equals(OnStartBattleSubscriber.class)) {
-			startBattleSubscribers.add((OnStartBattleSubscriber) sub);
-		} else if (additionClass.equals(AddCustomModeModsSubscriber.class)) {
-			addCustomModeModsSubscribers.add((AddCustomModeModsSubscriber) sub);
-		} else if (additionClass.equals(MaxHPChangeSubscriber.class)) {
-			maxHPChangeSubscribers.add((MaxHPChangeSubscriber) sub);
-		} else if (additionClass.equals(PreRoomRenderSubscriber.class)) {
-			preRoomRenderSubscribers.add((PreRoomRenderSubscriber) sub);
-		} else if (additionClass.equals(OnPlayerLoseBlockSubscriber.class)) {
-			onPlayerLoseBlockSubscribers.add((OnPlayerLoseBlockSubscriber) sub);
-		} else if (additionClass.equals(OnPlayerDamagedSubscriber.class)) {
-			onPlayerDamagedSubscribers.add((OnPlayerDamagedSubscriber) sub);
+		subscribe(sub, additionClass, SubscriberList.DEFAULT_PRIORITY);
+	}
+
+	// subscribe -
+	// only subscribers to a specific list, lower priority receives first
+	public static void subscribe(ISubscriber sub, Class<? extends ISubscriber> additionClass, int priority) {
+		if (!eventBus.subscribe(sub, additionClass, priority)) {
+			logger.warn("tried to subscribe to unknown subscriber type: " + additionClass.getName());
 		}
 	}
 
 	// unsubscribe -
 	// will unsubscribe from all lists this sub implements
 	public static void unsubscribe(ISubscriber sub) {
-		unsubscribeIfInstance(startActSubscribers, sub, StartActSubscriber.class);
-		unsubscribeIfInstance(postCampfireSubscribers, sub, PostCampfireSubscriber.class);
-		unsubscribeIfInstance(postDrawSubscribers, sub, PostDrawSubscriber.class);
-		unsubscribeIfInstance(postExhaustSubscribers, sub, PostExhaustSubscriber.class);
-		unsubscribeIfInstance(onCardUseSubscribers, sub, OnCardUseSubscriber.class);
-		unsubscribeIfInstance(postDungeonInitializeSubscribers, sub, PostDungeonInitializeSubscriber.class);
-		unsubscribeIfInstance(postEnergyRechargeSubscribers, sub, PostEnergyRechargeSubscriber.class);
-		unsubscribeIfInstance(postInitializeSubscribers, sub, PostInitializeSubscriber.class);
-		unsubscribeIfInstance(preMonsterTurnSubscribers, sub, PreMonsterTurnSubscriber.class);
-		unsubscribeIfInstance(renderSubscribers, sub, RenderSubscriber.class);
-		unsubscribeIfInstance(preRenderSubscribers, sub, PreRenderSubscriber.class);
-		unsubscribeIfInstance(postRenderSubscribers, sub, PostRenderSubscriber.class);
-		unsubscribeIfInstance(modelRenderSubscribers, sub, ModelRenderSubscriber.class);
-		unsubscribeIfInstance(preStartGameSubscribers, sub, PreStartGameSubscriber.class);
-		unsubscribeIfInstance(startGameSubscribers, sub, StartGameSubscriber.class);
-		unsubscribeIfInstance(preUpdateSubscribers, sub, PreUpdateSubscriber.class);
-		unsubscribeIfInstance(postUpdateSubscribers, sub, PostUpdateSubscriber.class);
-		unsubscribeIfInstance(postDungeonUpdateSubscribers, sub, PostDungeonUpdateSubscriber.class);
-		unsubscribeIfInstance(preDungeonUpdateSubscribers, sub, PreDungeonUpdateSubscriber.class);
-		unsubscribeIfInstance(postPlayerUpdateSubscribers, sub, PostPlayerUpdateSubscriber.class);
-		unsubscribeIfInstance(prePlayerUpdateSubscribers, sub, PrePlayerUpdateSubscriber.class);
-		unsubscribeIfInstance(postCreateStartingDeckSubscribers, sub, PostCreateStartingDeckSubscriber.class);
-		unsubscribeIfInstance(postCreateStartingRelicsSubscribers, sub, PostCreateStartingRelicsSubscriber.class);
-		unsubscribeIfInstance(postCreateShopRelicSubscribers, sub, PostCreateShopRelicSubscriber.class);
-		unsubscribeIfInstance(postCreateShopPotionSubscribers, sub, PostCreateShopPotionSubscriber.class);
-		unsubscribeIfInstance(editCardsSubscribers, sub, EditCardsSubscriber.class);
-		unsubscribeIfInstance(editRelicsSubscribers, sub, EditRelicsSubscriber.class);
-		unsubscribeIfInstance(editCharactersSubscribers, sub, EditCharactersSubscriber.class);
-		unsubscribeIfInstance(editStringsSubscribers, sub, EditStringsSubscriber.class);
-		unsubscribeIfInstance(editKeywordsSubscribers, sub, EditKeywordsSubscriber.class);
-		unsubscribeIfInstance(postBattleSubscribers, sub, PostBattleSubscriber.class);
-		unsubscribeIfInstance(setUnlocksSubscribers, sub, SetUnlocksSubscriber.class);
-		unsubscribeIfInstance(postPotionUseSubscribers, sub, PostPotionUseSubscriber.class);
-		unsubscribeIfInstance(prePotionUseSubscribers, sub, PrePotionUseSubscriber.class);
-		unsubscribeIfInstance(potionGetSubscribers, sub, PotionGetSubscriber.class);
-		unsubscribeIfInstance(relicGetSubscribers, sub, RelicGetSubscriber.class);
-		unsubscribeIfInstance(postPowerApplySubscribers, sub, PostPowerApplySubscriber.class);
-		unsubscribeIfInstance(onPowersModifiedSubscribers, sub, OnPowersModifiedSubscriber.class);
-		unsubscribeIfInstance(postDeathSubscribers, sub, PostDeathSubscriber.class);
-		unsubscribeIfInstance(startBattleSubscribers, sub, OnStartBattleSubscriber.class);
-		unsubscribeIfInstance(addCustomModeModsSubscribers, sub, AddCustomModeModsSubscriber.class);
-		unsubscribeIfInstance(maxHPChangeSubscribers, sub, MaxHPChangeSubscriber.class);
-		unsubscribeIfInstance(preRoomRenderSubscribers, sub, PreRoomRenderSubscriber.class);
-		unsubscribeIfInstance(onPlayerLoseBlockSubscribers, sub, OnPlayerLoseBlockSubscriber.class);
-		unsubscribeIfInstance(onPlayerDamagedSubscribers, sub, OnPlayerDamagedSubscriber.class);
+		eventBus.unsubscribe(sub);
 	}
 
 	// unsubscribe -
 	// only unsubscribe from a specific list
 	public static void unsubscribe(ISubscriber sub, Class<? extends ISubscriber> removalClass) {
-		if (removalClass.equals(StartActSubscriber.class)) {
-			startActSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCampfireSubscriber.class)) {
-			postCampfireSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDrawSubscriber.class)) {
-			postDrawSubscribers.remove(sub);
-		} else if (removalClass.equals(PostExhaustSubscriber.class)) {
-			postExhaustSubscribers.remove(sub);
-		} else if (removalClass.equals(OnCardUseSubscriber.class)) {
-			onCardUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDungeonInitializeSubscriber.class)) {
-			postDungeonInitializeSubscribers.remove(sub);
-		} else if (removalClass.equals(PostEnergyRechargeSubscriber.class)) {
-			postEnergyRechargeSubscribers.remove(sub);
-		} else if (removalClass.equals(PostInitializeSubscriber.class)) {
-			postInitializeSubscribers.remove(sub);
-		} else if (removalClass.equals(PreMonsterTurnSubscriber.class)) {
-			preMonsterTurnSubscribers.remove(sub);
-		} else if (removalClass.equals(RenderSubscriber.class)) {
-			renderSubscribers.remove(sub);
-		} else if (removalClass.equals(PreRenderSubscriber.class)) {
-			preRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(PostRenderSubscriber.class)) {
-			postRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(ModelRenderSubscriber.class)) {
-			modelRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(PreStartGameSubscriber.class)) {
-			preStartGameSubscribers.remove(sub);
-		} else if (removalClass.equals(StartGameSubscriber.class)) {
-			startGameSubscribers.remove(sub);
-		} else if (removalClass.equals(PreUpdateSubscriber.class)) {
-			preUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostUpdateSubscriber.class)) {
-			postUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDungeonUpdateSubscriber.class)) {
-			postDungeonUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PreDungeonUpdateSubscriber.class)) {
-			preDungeonUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostPlayerUpdateSubscriber.class)) {
-			postPlayerUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PrePlayerUpdateSubscriber.class)) {
-			prePlayerUpdateSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateStartingDeckSubscriber.class)) {
-			postCreateStartingDeckSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateStartingRelicsSubscriber.class)) {
-			postCreateStartingRelicsSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateShopRelicSubscriber.class)) {
-			postCreateShopRelicSubscribers.remove(sub);
-		} else if (removalClass.equals(PostCreateShopPotionSubscriber.class)) {
-			postCreateShopPotionSubscribers.remove(sub);
-		} else if (removalClass.equals(EditCardsSubscriber.class)) {
-			editCardsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditRelicsSubscriber.class)) {
-			editRelicsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditCharactersSubscriber.class)) {
-			editCharactersSubscribers.remove(sub);
-		} else if (removalClass.equals(EditStringsSubscriber.class)) {
-			editStringsSubscribers.remove(sub);
-		} else if (removalClass.equals(EditKeywordsSubscriber.class)) {
-			editKeywordsSubscribers.remove(sub);
-		} else if (removalClass.equals(AddAudioSubscriber.class)) {
-			addAudioSubscribers.remove(sub);
-		} else if (removalClass.equals(PostBattleSubscriber.class)) {
-			postBattleSubscribers.remove(sub);
-		} else if (removalClass.equals(SetUnlocksSubscriber.class)) {
-			setUnlocksSubscribers.remove(sub);
-		} else if (removalClass.equals(PostPotionUseSubscriber.class)) {
-			postPotionUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PrePotionUseSubscriber.class)) {
-			prePotionUseSubscribers.remove(sub);
-		} else if (removalClass.equals(PotionGetSubscriber.class)) {
-			potionGetSubscribers.remove(sub);
-		} else if (removalClass.equals(RelicGetSubscriber.class)) {
-			relicGetSubscribers.remove(sub);
-		} else if (removalClass.equals(PostPowerApplySubscriber.class)) {
-			postPowerApplySubscribers.remove(sub);
-		} else if (removalClass.equals(OnPowersModifiedSubscriber.class)) {
-			onPowersModifiedSubscribers.remove(sub);
-		} else if (removalClass.equals(PostDeathSubscriber.class)) {
-			postDeathSubscribers.remove(sub);
-		} else if (removalClass.equals(OnStartBattleSubscriber.class)) {
-			startBattleSubscribers.remove(sub);
-		} else if (removalClass.equals(AddCustomModeModsSubscriber.class)) {
-			addCustomModeModsSubscribers.remove(sub);
-		} else if (removalClass.equals(MaxHPChangeSubscriber.class)) {
-			maxHPChangeSubscribers.remove(sub);
-		} else if (removalClass.equals(PreRoomRenderSubscriber.class)) {
-			preRoomRenderSubscribers.remove(sub);
-		} else if (removalClass.equals(OnPlayerLoseBlockSubscriber.class)) {
-			onPlayerLoseBlockSubscribers.remove(sub);
-		} else if (removalClass.equals(OnPlayerDamagedSubscriber.class)) {
-			onPlayerDamagedSubscribers.remove(sub);
-		}
+		eventBus.unsubscribe(sub, removalClass);
 	}
 
 	// unsubscribeLater -
+	// sub is removed from each list it is in right after that list's next publish
 	public static void unsubscribeLater(ISubscriber sub) {
-		toRemove.add(sub);
+		eventBus.unsubscribeLater(sub);
 	}
 
 	public static String convertToModID(String id) {
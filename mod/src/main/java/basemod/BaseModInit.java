@@ -2,6 +2,7 @@ package basemod;
 
 import basemod.interfaces.PostInitializeSubscriber;
 import basemod.patches.whatmod.WhatMod;
+import basemod.profiler.BootProfiler;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.InputAdapter;
@@ -105,11 +106,11 @@ public class BaseModInit implements PostInitializeSubscriber {
 		BaseMod.registerModBadge(badgeTexture, MODNAME, AUTHOR, DESCRIPTION, settingsPanel);
 		
 		// Couldn't find a better place to put these. If they're not right here, please move them to a different classes' receivePostInitialize()
-		BaseMod.initializeUnderscoreCardIDs();
-		BaseMod.initializeUnderscorePotionIDs();
-		BaseMod.initializeUnderscoreEventIDs();
-		BaseMod.initializeUnderscoreRelicIDs();
-		BaseMod.initializeEncounters();
+		BootProfiler.run("initializeUnderscoreCardIDs", BaseMod::initializeUnderscoreCardIDs);
+		BootProfiler.run("initializeUnderscorePotionIDs", BaseMod::initializeUnderscorePotionIDs);
+		BootProfiler.run("initializeUnderscoreEventIDs", BaseMod::initializeUnderscoreEventIDs);
+		BootProfiler.run("initializeUnderscoreRelicIDs", BaseMod::initializeUnderscoreRelicIDs);
+		BootProfiler.run("initializeEncounters", BaseMod::initializeEncounters);
 	}
 
 }
\ No newline at end of file
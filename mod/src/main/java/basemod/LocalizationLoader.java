@@ -0,0 +1,184 @@
+package basemod;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.megacrit.cardcrawl.localization.CardStrings;
+import com.megacrit.cardcrawl.localization.LocalizedStrings;
+import com.megacrit.cardcrawl.localization.RelicStrings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses localization JSON and installs it into LocalizedStrings.
+ *
+ * While a batch is open (BaseMod opens one around publishEditStrings), each loaded file is parsed on a
+ * worker pool as soon as it's queued, and what's queued is merged into LocalizedStrings on {@link #flush()},
+ * in the order it was queued, so later files still override earlier ones. BaseMod flushes after every
+ * EditStrings subscriber, so each mod's strings are installed before the next mod runs, and a file that
+ * fails to parse is reported right after the mod that loaded it, naming the mod and the file. Outside of a
+ * batch strings are parsed and installed right away.
+ */
+class LocalizationLoader {
+	private static final Logger logger = LogManager.getLogger(LocalizationLoader.class.getName());
+
+	private final Gson gson;
+	// Key: strings type, Value: name of its map field in LocalizedStrings
+	private final Map<Type, String> typeMaps;
+
+	// files installed into LocalizedStrings so far, for caches built from it
+	static long installs = 0;
+
+	private ExecutorService pool = null;
+	private final List<Pending> pending = new ArrayList<>();
+	// files installed in the current batch
+	private int loaded = 0;
+
+	LocalizationLoader(Gson gson, Map<Type, String> typeMaps) {
+		this.gson = gson;
+		this.typeMaps = typeMaps;
+	}
+
+	void beginBatch() {
+		if (pool != null) {
+			return;
+		}
+		int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		AtomicInteger threadCount = new AtomicInteger();
+		pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "BaseMod strings loader " + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	void load(Type stringType, String jsonString, String modName, String source) {
+		if (!typeMaps.containsKey(stringType)) {
+			throw new IllegalArgumentException("Unsupported localization type: " + stringType.getTypeName());
+		}
+		if (pool != null) {
+			pending.add(new Pending(stringType, modName, source, pool.submit(() -> parse(stringType, jsonString))));
+		} else {
+			List<Object> parsed;
+			try {
+				parsed = parse(stringType, jsonString);
+			} catch (IOException e) {
+				throw new RuntimeException("Failed to load " + stringType.getTypeName() + " from " + source, e);
+			}
+			install(stringType, modName, parsed, new HashMap<>());
+		}
+	}
+
+	// flush - install everything queued so far. Throws for the first file that failed to parse,
+	// after dropping the files queued after it
+	void flush() {
+		try {
+			Map<Type, Map<Object, Object>> targets = new HashMap<>();
+			for (Pending p : pending) {
+				List<Object> parsed;
+				try {
+					parsed = p.result.get();
+				} catch (ExecutionException e) {
+					throw new RuntimeException("Failed to load " + p.stringType.getTypeName() + " from " + p.source
+							+ (p.modName == null ? "" : " (" + p.modName + ")"), e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException("Interrupted while loading localization strings", e);
+				}
+				install(p.stringType, p.modName, parsed, targets);
+				++loaded;
+			}
+		} finally {
+			pending.clear();
+		}
+	}
+
+	void finishBatch() {
+		if (pool == null) {
+			return;
+		}
+		try {
+			flush();
+			logger.info("Loaded " + loaded + " localization files");
+		} finally {
+			abortBatch();
+		}
+	}
+
+	// abortBatch - close the batch without installing what's still queued, for when something already went wrong
+	void abortBatch() {
+		for (Pending p : pending) {
+			p.result.cancel(false);
+		}
+		pending.clear();
+		loaded = 0;
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+
+	// keys and values alternating, in file order
+	private List<Object> parse(Type stringType, String jsonString) throws IOException {
+		@SuppressWarnings("unchecked")
+		TypeAdapter<Object> adapter = (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(stringType));
+		List<Object> ret = new ArrayList<>();
+		try (JsonReader reader = new JsonReader(new StringReader(jsonString))) {
+			reader.setLenient(true);
+			if (reader.peek() == JsonToken.NULL) {
+				return ret;
+			}
+			reader.beginObject();
+			while (reader.hasNext()) {
+				ret.add(reader.nextName());
+				ret.add(adapter.read(reader));
+			}
+			reader.endObject();
+		}
+		return ret;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void install(Type stringType, String modName, List<Object> parsed, Map<Type, Map<Object, Object>> targets) {
+		Map<Object, Object> target = targets.get(stringType);
+		if (target == null) {
+			target = (Map<Object, Object>) ReflectionHacks.privateField(LocalizedStrings.class, typeMaps.get(stringType)).get(null);
+			targets.put(stringType, target);
+		}
+		++installs;
+		boolean prefix = modName != null && (stringType.equals(CardStrings.class) || stringType.equals(RelicStrings.class));
+		for (int i = 0; i < parsed.size(); i += 2) {
+			Object key = parsed.get(i);
+			target.put(prefix ? modName + ":" + key : key, parsed.get(i + 1));
+		}
+	}
+
+	private static class Pending {
+		final Type stringType;
+		final String modName;
+		final String source;
+		final Future<List<Object>> result;
+
+		Pending(Type stringType, String modName, String source, Future<List<Object>> result) {
+			this.stringType = stringType;
+			this.modName = modName;
+			this.source = source;
+			this.result = result;
+		}
+	}
+}
@@ -3,53 +3,103 @@ package basemod;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionHacks {
     public static final Logger logger = LogManager.getLogger(ReflectionHacks.class.getName());
 
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    // Key: declaring class
+    // Inner Key: field name, or method name + parameter types
+    private static final Map<Class<?>, Map<String, RField>> fieldCache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<String, RMethod>> methodCache = new ConcurrentHashMap<>();
+
 	private ReflectionHacks() {}
 
+    //
+    // Cached accessors
+    //
+
+    // privateField - look up a (private) field once and keep it for reuse
+    // throws IllegalArgumentException if the field does not exist
+    public static RField privateField(Class<?> objClass, String fieldName) {
+        Map<String, RField> fields = fieldCache.computeIfAbsent(objClass, k -> new ConcurrentHashMap<>());
+        RField ret = fields.get(fieldName);
+        if (ret == null) {
+            try {
+                Field field = objClass.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                ret = new RField(field);
+            } catch (NoSuchFieldException | SecurityException e) {
+                throw new IllegalArgumentException("No field " + fieldName + " in " + objClass.getName(), e);
+            }
+            RField existing = fields.putIfAbsent(fieldName, ret);
+            if (existing != null) {
+                ret = existing;
+            }
+        }
+        return ret;
+    }
+
+    // privateMethod - look up a (private) method once and keep it for reuse
+    // throws IllegalArgumentException if the method does not exist
+    public static RMethod privateMethod(Class<?> objClass, String methodName, Class<?>... parameterTypes) {
+        Map<String, RMethod> methods = methodCache.computeIfAbsent(objClass, k -> new ConcurrentHashMap<>());
+        String key = parameterTypes.length == 0 ? methodName : methodName + Arrays.toString(parameterTypes);
+        RMethod ret = methods.get(key);
+        if (ret == null) {
+            try {
+                Method method = objClass.getDeclaredMethod(methodName, parameterTypes);
+                method.setAccessible(true);
+                ret = new RMethod(method);
+            } catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+                throw new IllegalArgumentException("No method " + methodName + Arrays.toString(parameterTypes) + " in " + objClass.getName(), e);
+            }
+            RMethod existing = methods.putIfAbsent(key, ret);
+            if (existing != null) {
+                ret = existing;
+            }
+        }
+        return ret;
+    }
+
     //
     // Reflection hacks
     //
-    
+
     // getPrivateStatic - read private static variables
 	public static Object getPrivateStatic(Class<?> objClass, String fieldName) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            return targetField.get(null);
+            return privateField(objClass, fieldName).get(null);
         } catch (Exception e) {
             logger.error("Exception occurred when getting private static field " + fieldName + " of " + objClass.getName(), e);
         }
-        
+
         return null;
     }
-    
+
     // setPrivateStatic - modify private static variables
 	public static void setPrivateStatic(Class<?> objClass, String fieldName, Object newValue) {
 		try {
-			Field targetField = objClass.getDeclaredField(fieldName);
-			targetField.setAccessible(true);
-			targetField.set(null, newValue);
+			privateField(objClass, fieldName).set(null, newValue);
 		} catch (Exception e) {
 			logger.error("Exception occurred when setting private static field " + fieldName + " of " + objClass.getName(), e);
 		}
     }
-    
+
     // setPrivateStaticFinal - modify (private) static (final) variables
 	public static void setPrivateStaticFinal(Class<?> objClass, String fieldName, Object newValue) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            
-            Field modifiersField = Field.class.getDeclaredField("modifiers");
-            modifiersField.setAccessible(true);
-            modifiersField.setInt(targetField, targetField.getModifiers() & ~Modifier.FINAL);
-            
-            targetField.setAccessible(true);
-            targetField.set(null, newValue);
+            privateField(objClass, fieldName).setFinal(null, newValue);
         } catch (Exception e) {
             logger.error("Exception occurred when setting private static (final) field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -58,9 +108,7 @@ public class ReflectionHacks {
     // getPrivate - read private variables of an object
 	public static Object getPrivate(Object obj, Class<?> objClass, String fieldName) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            return targetField.get(obj);
+            return privateField(objClass, fieldName).get(obj);
         } catch (Exception e) {
             logger.error("Exception occurred when getting private field " + fieldName + " of " + objClass.getName(), e);
         }
@@ -71,23 +119,174 @@ public class ReflectionHacks {
     // setPrivate - set private variables of an object
 	public static void setPrivate(Object obj, Class<?> objClass, String fieldName, Object newValue) {
         try {
-            Field targetField = objClass.getDeclaredField(fieldName);
-            targetField.setAccessible(true);
-            targetField.set(obj, newValue);
+            privateField(objClass, fieldName).set(obj, newValue);
         } catch (Exception e) {
             logger.error("Exception occurred when setting private field " + fieldName + " of " + objClass.getName(), e);
         }
     }
-    
+
     // setPrivateInherited - set private variable of superclass of an object
 	public static void setPrivateInherited(Object obj, Class<?> objClass, String fieldName, Object newValue) {
     	try {
-    		Field targetField = objClass.getSuperclass().getDeclaredField(fieldName);
-    		targetField.setAccessible(true);
-    		targetField.set(obj, newValue);
+    		privateField(objClass.getSuperclass(), fieldName).set(obj, newValue);
     	} catch (Exception e) {
     		logger.error("Exception occurred when setting private field " + fieldName + " of the superclass of " + objClass.getName(), e);
     	}
     }
-	
+
+    /**
+     * A resolved field. Get one from {@link #privateField(Class, String)} and keep it in a static
+     * final field instead of looking the field up every frame.
+     *
+     * get/set box primitives. For exact, allocation free access use {@link #getter()} / {@link #setter()}
+     * with invokeExact, e.g. {@code float h = (float) TEXT_HEIGHT.getter().invokeExact();}
+     */
+    public static class RField {
+        private final Field field;
+        private final boolean isStatic;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle genericGetter;
+        private final MethodHandle genericSetter;
+
+        private RField(Field field) {
+            this.field = field;
+            isStatic = Modifier.isStatic(field.getModifiers());
+
+            MethodHandle get;
+            try {
+                get = lookup.unreflectGetter(field);
+            } catch (IllegalAccessException e) {
+                get = null;
+            }
+            // final fields can't be written through a method handle, fall back to the Field for those
+            MethodHandle set;
+            try {
+                set = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                set = null;
+            }
+            getter = get;
+            setter = set;
+
+            if (isStatic) {
+                genericGetter = get == null ? null : get.asType(MethodType.methodType(Object.class));
+                genericSetter = set == null ? null : set.asType(MethodType.methodType(void.class, Object.class));
+            } else {
+                genericGetter = get == null ? null : get.asType(MethodType.methodType(Object.class, Object.class));
+                genericSetter = set == null ? null : set.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        // the raw getter handle: ()T for static fields, (Owner)T for instance fields
+        public MethodHandle getter() {
+            return getter;
+        }
+
+        // the raw setter handle: (T)void for static fields, (Owner,T)void for instance fields
+        // null for final fields
+        public MethodHandle setter() {
+            return setter;
+        }
+
+        // obj is ignored for static fields
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object obj) {
+            try {
+                Object ret;
+                if (genericGetter == null) {
+                    ret = field.get(obj);
+                } else if (isStatic) {
+                    ret = genericGetter.invokeExact();
+                } else {
+                    ret = genericGetter.invokeExact(obj);
+                }
+                return (T) ret;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+
+        // obj is ignored for static fields
+        public void set(Object obj, Object value) {
+            try {
+                if (genericSetter == null) {
+                    field.set(obj, value);
+                } else if (isStatic) {
+                    genericSetter.invokeExact(value);
+                } else {
+                    genericSetter.invokeExact(obj, value);
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+
+        // set, removing the field's final modifier first
+        public void setFinal(Object obj, Object value) throws NoSuchFieldException, IllegalAccessException {
+            if (Modifier.isFinal(field.getModifiers())) {
+                Field modifiersField = Field.class.getDeclaredField("modifiers");
+                modifiersField.setAccessible(true);
+                modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+            }
+            field.set(obj, value);
+        }
+    }
+
+    /**
+     * A resolved method. Get one from {@link #privateMethod(Class, String, Class[])} and keep it in a
+     * static final field.
+     *
+     * {@link #invoke(Object, Object...)} boxes its arguments. For hot paths use {@link #handle()} with
+     * invokeExact, e.g. {@code RENDER_TIP_BOX.handle().invokeExact(x, y, sb, title, body);}
+     */
+    public static class RMethod {
+        private final Method method;
+        private final boolean isStatic;
+        private final MethodHandle handle;
+
+        private RMethod(Method method) throws IllegalAccessException {
+            this.method = method;
+            isStatic = Modifier.isStatic(method.getModifiers());
+            handle = lookup.unreflect(method);
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        // the raw handle; instance methods take the receiver as their first argument
+        public MethodHandle handle() {
+            return handle;
+        }
+
+        // obj is ignored for static methods
+        @SuppressWarnings("unchecked")
+        public <T> T invoke(Object obj, Object... args) {
+            try {
+                Object ret;
+                if (isStatic) {
+                    ret = handle.invokeWithArguments(args);
+                } else {
+                    Object[] withReceiver = new Object[args.length + 1];
+                    withReceiver[0] = obj;
+                    System.arraycopy(args, 0, withReceiver, 1, args.length);
+                    ret = handle.invokeWithArguments(withReceiver);
+                }
+                return (T) ret;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            }
+        }
+    }
 }
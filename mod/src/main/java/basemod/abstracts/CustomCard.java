@@ -3,9 +3,12 @@ package basemod.abstracts;
 import basemod.BaseMod;
 import basemod.ReflectionHacks;
 import basemod.helpers.BaseModCardTags;
+import basemod.helpers.CardPortraitAtlas;
+import basemod.helpers.TextureCache;
 import basemod.helpers.TooltipInfo;
 import basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup.TitleFontSize;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -21,39 +24,147 @@ import com.megacrit.cardcrawl.helpers.ImageMaster;
 import com.megacrit.cardcrawl.localization.LocalizedStrings;
 import com.megacrit.cardcrawl.monsters.AbstractMonster;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class CustomCard extends AbstractCard {
+	// Cards hold on to their textures for the whole game, so the references taken from
+	// TextureCache for these are never released
 	public static HashMap<String, Texture> imgMap;
 	
 	public static final String PORTRAIT_ENDING = "_p";
 	
+	// getPortraitImage - a newly loaded portrait, the caller owns it and disposes it
 	public static Texture getPortraitImage(CustomCard card) {
 		return card.getPortraitImage();
 	}
+
+	// getCachedPortraitImage - the portrait for SingleCardViewPopup, from the portrait cache unless the card
+	// overrides getPortraitImage. Check isCachedPortrait before disposing it
+	public static Texture getCachedPortraitImage(CustomCard card) {
+		if (overridesPortraitImage(card.getClass())) {
+			return card.getPortraitImage();
+		}
+		String path = card.getPortraitPath();
+		return path == null ? null : loadPortraitImage(path);
+	}
 	
 	private static void loadTextureFromString(String textureString) {
 		if (!imgMap.containsKey(textureString)) {
-			imgMap.put(textureString, ImageMaster.loadImage(textureString));
+			if (batchingImages) {
+				TextureCache.preload(textureString);
+				deferredTextures.add(textureString);
+			} else {
+				imgMap.put(textureString, TextureCache.acquire(textureString));
+			}
 		}
 	}
 	
 	private static Texture getTextureFromString(String textureString) {
-		loadTextureFromString(textureString);
+		if (!imgMap.containsKey(textureString)) {
+			imgMap.put(textureString, TextureCache.acquire(textureString));
+		}
 		return imgMap.get(textureString);
 	}
 
+	// While cards are being registered (BaseMod.publishEditCards) their images are decoded in the
+	// background by TextureCache, and portraits are packed by CardPortraitAtlas if that's enabled.
+	// Portraits handed out in the meantime show a placeholder and are pointed at the real texture
+	// or atlas region when the batch finishes.
+	private static boolean batchingImages = false;
+	private static Texture placeholderTexture = null;
+	private static final LinkedHashSet<String> deferredTextures = new LinkedHashSet<>();
+	private static final ArrayList<AtlasRegion> deferredRegions = new ArrayList<>();
+	private static final ArrayList<String> deferredRegionPaths = new ArrayList<>();
+
+	public static void beginImageBatch() {
+		TextureCache.beginPreload();
+		batchingImages = true;
+	}
+
+	public static void finishImageBatch() {
+		if (!batchingImages) {
+			return;
+		}
+		batchingImages = false;
+		try {
+			CardPortraitAtlas.finish();
+			for (String textureString : deferredTextures) {
+				if (!imgMap.containsKey(textureString)) {
+					imgMap.put(textureString, TextureCache.acquire(textureString));
+				}
+			}
+			for (int i = 0; i < deferredRegions.size(); ++i) {
+				String path = deferredRegionPaths.get(i);
+				AtlasRegion region = deferredRegions.get(i);
+				AtlasRegion packed = CardPortraitAtlas.find(path);
+				if (packed != null) {
+					region.setRegion(packed);
+					region.originalWidth = region.packedWidth = packed.originalWidth;
+					region.originalHeight = region.packedHeight = packed.originalHeight;
+					continue;
+				}
+				// not packed after all, too big or failed to decode
+				Texture t = getTextureFromString(path);
+				if (t == null) {
+					continue;
+				}
+				region.setRegion(t);
+				region.originalWidth = region.packedWidth = t.getWidth();
+				region.originalHeight = region.packedHeight = t.getHeight();
+			}
+		} finally {
+			deferredTextures.clear();
+			deferredRegions.clear();
+			deferredRegionPaths.clear();
+			TextureCache.finishPreload();
+		}
+	}
+
+	private static Texture getPlaceholderTexture() {
+		if (placeholderTexture == null) {
+			placeholderTexture = new Texture(1, 1, Pixmap.Format.RGBA8888);
+		}
+		return placeholderTexture;
+	}
+
+	// Subclasses without their own makeCopy normally get a generated one at patch time
+	// (see GenerateCustomCardMakeCopy). This is the fallback for any the patch couldn't reach.
 	@Override
 	public AbstractCard makeCopy() {
-		try{
-			return this.getClass().newInstance();
-		}catch(InstantiationException | IllegalAccessException e) {
-			throw new RuntimeException("BaseMod failed to auto-generate makeCopy for card: " + cardID);
+		try {
+			return (AbstractCard) getConstructor(getClass()).invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException("BaseMod failed to auto-generate makeCopy for card: " + cardID, e);
 		}
 	}
 
+	private static final Map<Class<?>, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+	private static MethodHandle getConstructor(Class<?> cls) throws NoSuchMethodException, IllegalAccessException {
+		MethodHandle ret = constructors.get(cls);
+		if (ret == null) {
+			Constructor<?> ctor = cls.getDeclaredConstructor();
+			ctor.setAccessible(true);
+			ret = MethodHandles.lookup().unreflectConstructor(ctor).asType(MethodType.methodType(AbstractCard.class));
+			constructors.put(cls, ret);
+		}
+		return ret;
+	}
+
 	static {
 		imgMap = new HashMap<>();
 	}
@@ -375,17 +486,24 @@ public abstract class CustomCard extends AbstractCard {
 	
 	// loadCardImage - copy of hack here: https://github.com/t-larson/STS-ModLoader/blob/master/modloader/CustomCard.java
 	public void loadCardImage(String img) {
-		Texture cardTexture;
-		if (imgMap.containsKey(img)) {
-			cardTexture = imgMap.get(img);
+		TextureAtlas.AtlasRegion cardImg;
+		AtlasRegion packed = CardPortraitAtlas.find(img);
+		if (packed != null) {
+			cardImg = new AtlasRegion(packed);
+		} else if (batchingImages && !imgMap.containsKey(img)) {
+			if (!CardPortraitAtlas.queue(img, color)) {
+				loadTextureFromString(img);
+			}
+			cardImg = new AtlasRegion(getPlaceholderTexture(), 0, 0, 1, 1);
+			deferredRegions.add(cardImg);
+			deferredRegionPaths.add(img);
 		} else {
-			cardTexture = ImageMaster.loadImage(img);
-			imgMap.put(img, cardTexture);
+			Texture cardTexture = getTextureFromString(img);
+			cardTexture.setFilter(Texture.TextureFilter.Linear,  Texture.TextureFilter.Linear);
+			int tw = cardTexture.getWidth();
+			int th = cardTexture.getHeight();
+			cardImg = new AtlasRegion(cardTexture, 0, 0, tw, th);
 		}
-		cardTexture.setFilter(Texture.TextureFilter.Linear,  Texture.TextureFilter.Linear);
-		int tw = cardTexture.getWidth();
-		int th = cardTexture.getHeight();
-		TextureAtlas.AtlasRegion cardImg = new AtlasRegion(cardTexture, 0, 0, tw, th);
 		ReflectionHacks.setPrivateInherited(this, CustomCard.class, "portrait", cardImg);
 	}
 
@@ -483,22 +601,93 @@ public abstract class CustomCard extends AbstractCard {
 	}
 
 	protected Texture getPortraitImage() {
+		String newPath = getPortraitPath();
+		if (newPath == null) {
+			return null;
+		}
+		Texture portraitTexture;
+		try {
+			portraitTexture = ImageMaster.loadImage(newPath);
+		} catch (Exception e) {
+			portraitTexture = null;
+		}
+		return portraitTexture;
+	}
+
+	private String getPortraitPath() {
 		if (textureImg == null) {
 			return null;
 		}
 		int endingIndex = textureImg.lastIndexOf(".");
-		String newPath = textureImg.substring(0, endingIndex) +
+		return textureImg.substring(0, endingIndex) +
 				PORTRAIT_ENDING + textureImg.substring(endingIndex);
-		System.out.println("Finding texture: " + newPath);
-		Texture portraitTexture;
+	}
+
+	// Key: card class
+	// Value: whether it replaces CustomCard's getPortraitImage
+	private static final ConcurrentHashMap<Class<?>, Boolean> overridesPortraitImage = new ConcurrentHashMap<>();
+
+	private static boolean overridesPortraitImage(Class<?> cls) {
+		Boolean ret = overridesPortraitImage.get(cls);
+		if (ret == null) {
+			ret = false;
+			for (Class<?> c = cls; c != null && c != CustomCard.class; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("getPortraitImage");
+					ret = true;
+					break;
+				} catch (NoSuchMethodException ignored) {
+				}
+			}
+			overridesPortraitImage.put(cls, ret);
+		}
+		return ret;
+	}
+
+	// Large portraits for SingleCardViewPopup, least recently used first. Kept within
+	// portraitCacheBudget bytes of texture memory, but the most recent one is always kept
+	// since the popup may be showing it.
+	public static long portraitCacheBudget = 64L * 1024 * 1024;
+	private static final LinkedHashMap<String, Texture> portraitCache = new LinkedHashMap<>(16, 0.75f, true);
+	private static final HashSet<String> missingPortraits = new HashSet<>();
+	private static long portraitCacheSize = 0;
+
+	private static Texture loadPortraitImage(String path) {
+		Texture portraitTexture = portraitCache.get(path);
+		if (portraitTexture != null || missingPortraits.contains(path)) {
+			return portraitTexture;
+		}
 		try {
-			portraitTexture = ImageMaster.loadImage(newPath);
+			portraitTexture = TextureCache.acquire(path);
 		} catch (Exception e) {
 			portraitTexture = null;
 		}
+		if (portraitTexture == null) {
+			missingPortraits.add(path);
+			return null;
+		}
+		portraitCache.put(path, portraitTexture);
+		portraitCacheSize += textureSize(portraitTexture);
+
+		Iterator<Map.Entry<String, Texture>> it = portraitCache.entrySet().iterator();
+		while (portraitCacheSize > portraitCacheBudget && portraitCache.size() > 1) {
+			Map.Entry<String, Texture> eldest = it.next();
+			it.remove();
+			portraitCacheSize -= textureSize(eldest.getValue());
+			TextureCache.release(eldest.getKey());
+		}
 		return portraitTexture;
 	}
 
+	// true for textures from the portrait cache, which must not be disposed by whoever is showing them
+	public static boolean isCachedPortrait(Texture texture) {
+		return texture != null && portraitCache.containsValue(texture);
+	}
+
+	private static long textureSize(Texture texture) {
+		return 4L * texture.getWidth() * texture.getHeight();
+	}
+
 	public static class RegionName {
 		public final String name;
 
@@ -4,6 +4,7 @@ import basemod.BaseMod;
 import basemod.animations.AbstractAnimation;
 import basemod.animations.G3DJAnimation;
 import basemod.animations.SpineAnimation;
+import basemod.helpers.CardRegistry;
 import basemod.interfaces.ModelRenderSubscriber;
 import basemod.patches.com.megacrit.cardcrawl.unlock.UnlockTracker.CountModdedUnlockCards;
 import com.badlogic.gdx.Gdx;
@@ -20,7 +21,6 @@ import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.cutscenes.CutscenePanel;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
-import com.megacrit.cardcrawl.helpers.CardLibrary;
 import com.megacrit.cardcrawl.helpers.ImageMaster;
 import com.megacrit.cardcrawl.helpers.Prefs;
 import com.megacrit.cardcrawl.helpers.SaveHelper;
@@ -30,14 +30,12 @@ import com.megacrit.cardcrawl.screens.CharSelectInfo;
 import com.megacrit.cardcrawl.screens.stats.CharStat;
 import com.megacrit.cardcrawl.screens.stats.StatsScreen;
 import com.megacrit.cardcrawl.ui.panels.energyorb.EnergyOrbInterface;
-import com.megacrit.cardcrawl.unlock.UnlockTracker;
 import com.megacrit.cardcrawl.vfx.AbstractGameEffect;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 public abstract class CustomPlayer extends AbstractPlayer implements ModelRenderSubscriber
 {
@@ -133,15 +131,7 @@ public abstract class CustomPlayer extends AbstractPlayer implements ModelRender
 	@Override
 	public ArrayList<AbstractCard> getCardPool(ArrayList<AbstractCard> tmpPool)
 	{
-		AbstractCard.CardColor color = getCardColor();
-		for (Map.Entry<String, AbstractCard> c : CardLibrary.cards.entrySet()) {
-			AbstractCard card = c.getValue();
-			if (card.color.equals(color) && card.rarity != AbstractCard.CardRarity.BASIC &&
-					(!UnlockTracker.isCardLocked(c.getKey()) || Settings.isDailyRun)) {
-				tmpPool.add(card);
-			}
-		}
-		return tmpPool;
+		return CardRegistry.addToPool(getCardColor(), tmpPool, Settings.isDailyRun);
 	}
 
 	@Override
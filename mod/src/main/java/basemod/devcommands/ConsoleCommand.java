@@ -19,13 +19,22 @@ import basemod.devcommands.kill.Kill;
 import basemod.devcommands.maxhp.MaxHp;
 import basemod.devcommands.potions.Potions;
 import basemod.devcommands.power.Power;
+import basemod.devcommands.profile.Profile;
 import basemod.devcommands.relic.Relic;
 import basemod.devcommands.unlock.Unlock;
 import basemod.DevConsole;
+import basemod.ReflectionHacks;
+import basemod.helpers.CardRegistry;
+import basemod.helpers.RelicRegistry;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.CardGroup;
+import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
+import com.megacrit.cardcrawl.helpers.BlightHelper;
 import com.megacrit.cardcrawl.helpers.CardLibrary;
+import com.megacrit.cardcrawl.helpers.PotionHelper;
+import com.megacrit.cardcrawl.localization.EventStrings;
+import com.megacrit.cardcrawl.localization.LocalizedStrings;
 
 import java.util.*;
 
@@ -59,7 +68,7 @@ public abstract class ConsoleCommand {
 
     private ConsoleCommand last(String[] tokens, int[] depth, boolean forExecution) throws IllegalAccessException, InstantiationException, InvalidCommandException {
         if (depth[0] < tokens.length - (forExecution ? 0 : 1) && followup.containsKey(tokens[depth[0]].toLowerCase())) {
-            ConsoleCommand cc = ((ConsoleCommand) followup.get(tokens[depth[0]].toLowerCase()).newInstance());
+            ConsoleCommand cc = getInstance(followup.get(tokens[depth[0]].toLowerCase()));
             depth[0] = depth[0] + 1;
             return cc.last(tokens, depth, forExecution);
         } else {
@@ -87,29 +96,49 @@ public abstract class ConsoleCommand {
                 result.add(key);
             }
         }
+        boolean sorted = result.isEmpty();
         ArrayList<String> extras = extraOptions(tokens, depth);
-        if(extras != null) {
+        if(extras instanceof PrefixIndex) {
+            ((PrefixIndex) extras).addMatches(tokens[tokens.length - 1], result);
+        } else if(extras != null) {
+            sorted = false;
             for (final String key : extras) {
                 if (key.toLowerCase().startsWith(tokens[tokens.length - 1].toLowerCase())) {
                     result.add(key);
                 }
             }
         }
-        Collections.sort(result);
+        if(!sorted) {
+            Collections.sort(result);
+        }
         return result;
     }
 
+    // Commands hold no per-call state, so one instance of each is enough
+    private static final Map<Class<? extends ConsoleCommand>, ConsoleCommand> instances = new HashMap<>();
+
+    private static ConsoleCommand getInstance(Class<? extends ConsoleCommand> cls) throws IllegalAccessException, InstantiationException {
+        ConsoleCommand cc = instances.get(cls);
+        if(cc == null) {
+            cc = cls.newInstance();
+            instances.put(cls, cc);
+        }
+        return cc;
+    }
+
+    private static ConsoleCommand rootCommand = null;
+
 
     private static ConsoleCommand getLastCommand(String[] tokens, int[] depth, boolean forExecution) {
         try {
-            ConsoleCommand cc = new ConsoleCommand() {
-                @Override
-                protected void execute(String[] tokens, int depth) {}
-            };
-            cc.followup = root;
-            cc = cc.last(tokens, depth, forExecution);
-
-            return cc;
+            if(rootCommand == null) {
+                rootCommand = new ConsoleCommand() {
+                    @Override
+                    protected void execute(String[] tokens, int depth) {}
+                };
+                rootCommand.followup = root;
+            }
+            return rootCommand.last(tokens, depth, forExecution);
         } catch(InvalidCommandException ex) {}
         catch(Exception ex) {
             if(forExecution) {
@@ -140,6 +169,7 @@ public abstract class ConsoleCommand {
         addCommand("kill", Kill.class);
         addCommand("maxhp", MaxHp.class);
         addCommand("power", Power.class);
+        addCommand("profile", Profile.class);
         addCommand("relic", Relic.class);
         addCommand("unlock", Unlock.class);
         addCommand("history", History.class);
@@ -227,12 +257,19 @@ public abstract class ConsoleCommand {
         return result;
     }
 
+    private static PrefixIndex cardOptions = null;
+    private static PrefixIndex relicOptions = null;
+    private static PrefixIndex potionOptions = null;
+    private static PrefixIndex powerOptions = null;
+    private static PrefixIndex eventOptions = null;
+    private static PrefixIndex encounterOptions = null;
+    private static PrefixIndex blightOptions = null;
+
+    // The option lists below are shared and only rebuilt when their library changes, don't modify them
+
     public static ArrayList<String> getCardOptions() {
-        ArrayList<String> result = new ArrayList<>();
-        for (String key : CardLibrary.cards.keySet()) {
-            result.add(key.replace(' ', '_'));
-        }
-        return result;
+        cardOptions = PrefixIndex.refresh(cardOptions, null, CardRegistry.getVersion(), CardLibrary.cards::keySet);
+        return cardOptions;
     }
 
     public static ArrayList<String> getCardOptionsFromCardGroup(CardGroup cg) {
@@ -247,11 +284,41 @@ public abstract class ConsoleCommand {
     }
 
     public static ArrayList<String> getRelicOptions() {
-        ArrayList<String> result = new ArrayList<>();
-        for (String id : BaseMod.listAllRelicIDs()) {
-            result.add(id.replace(' ', '_'));
+        relicOptions = PrefixIndex.refresh(relicOptions, null, RelicRegistry.getVersion(), RelicRegistry::getIDs);
+        return relicOptions;
+    }
+
+    public static ArrayList<String> getPotionOptions() {
+        Set<String> potionIDs = BaseMod.getPotionIDs();
+        potionOptions = PrefixIndex.refresh(potionOptions, potionIDs, BaseMod.getPotionsVersion(),
+                () -> PotionHelper.getPotions(AbstractPlayer.PlayerClass.IRONCLAD, true));
+        return potionOptions;
+    }
+
+    public static ArrayList<String> getPowerOptions() {
+        Set<String> powerIDs = BaseMod.getPowerKeys();
+        powerOptions = PrefixIndex.refresh(powerOptions, powerIDs, BaseMod.getPowersVersion(), () -> powerIDs);
+        return powerOptions;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ArrayList<String> getEventOptions() {
+        Map<String, EventStrings> events = (Map<String, EventStrings>) ReflectionHacks.getPrivateStatic(LocalizedStrings.class, "events");
+        if (events == null) {
+            return new ArrayList<>();
         }
-        return result;
+        eventOptions = PrefixIndex.refresh(eventOptions, events, BaseMod.getLocalizationVersion(), events::keySet);
+        return eventOptions;
+    }
+
+    public static ArrayList<String> getEncounterOptions() {
+        encounterOptions = PrefixIndex.refresh(encounterOptions, BaseMod.encounterList, BaseMod.encounterList.size(), () -> BaseMod.encounterList);
+        return encounterOptions;
+    }
+
+    public static ArrayList<String> getBlightOptions() {
+        blightOptions = PrefixIndex.refresh(blightOptions, BlightHelper.blights, BlightHelper.blights.size(), () -> BlightHelper.blights);
+        return blightOptions;
     }
 
     public static void tooManyTokensError() {
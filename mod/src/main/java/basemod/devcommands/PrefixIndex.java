@@ -0,0 +1,126 @@
+package basemod.devcommands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A sorted list of console option IDs with a prefix lookup, used for the large ID lists
+ * (cards, relics, potions, powers, events, encounters, blights).
+ *
+ * IDs are stored with spaces replaced by underscores, the way the console expects them.
+ * The list is sorted, and a case insensitive copy of the keys is kept sorted as well so
+ * autocomplete can binary search the range of matches instead of scanning every ID.
+ * Instances are shared between calls and rebuilt by {@link #refresh} only when the library
+ * they were built from changes. They're still ArrayLists for commands that use them as one;
+ * if a command modifies one anyway, the index notices and falls back to a plain scan.
+ */
+public class PrefixIndex extends ArrayList<String> {
+
+    private final Object source;
+    private final long version;
+    private final int builtModCount;
+    // set() isn't counted in modCount, and bumping modCount there breaks ListIterator.set
+    private int replacements = 0;
+    // lowercase keys sorted, and the position in this list of each of them
+    private final String[] keys;
+    private final int[] positions;
+    private final HashSet<String> members;
+
+    private PrefixIndex(Object source, long version, Collection<String> ids) {
+        super(ids.size());
+        this.source = source;
+        this.version = version;
+        members = new HashSet<>(ids.size() * 2);
+        for (String id : ids) {
+            String option = id.replace(' ', '_');
+            if (members.add(option)) {
+                super.add(option);
+            }
+        }
+        sort(null);
+
+        Integer[] order = new Integer[size()];
+        String[] lower = new String[size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            lower[i] = get(i).toLowerCase();
+        }
+        Arrays.sort(order, (a, b) -> lower[a].compareTo(lower[b]));
+        keys = new String[order.length];
+        positions = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            keys[i] = lower[order[i]];
+            positions[i] = order[i];
+        }
+        builtModCount = modCount;
+    }
+
+    /**
+     * returns current if it was built from source at the given version, otherwise a new index of ids.
+     * version is a counter that changes whenever the contents of source do, or the size for lists that
+     * are only ever appended to.
+     */
+    public static PrefixIndex refresh(PrefixIndex current, Object source, long version, Supplier<? extends Collection<String>> ids) {
+        if (current != null && current.source == source && current.version == version && current.builtModCount == current.modCount && current.replacements == 0) {
+            return current;
+        }
+        return new PrefixIndex(source, version, ids.get());
+    }
+
+    /**
+     * adds the IDs starting with prefix (ignoring case) to out, in sorted order.
+     */
+    public void addMatches(String prefix, List<String> out) {
+        String lowerPrefix = prefix.toLowerCase();
+        if (modCount != builtModCount || replacements != 0) {
+            for (String option : this) {
+                if (option.toLowerCase().startsWith(lowerPrefix)) {
+                    out.add(option);
+                }
+            }
+            return;
+        }
+
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(lowerPrefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        int end = lo;
+        while (end < keys.length && keys[end].startsWith(lowerPrefix)) {
+            end++;
+        }
+        if (end - lo == keys.length) {
+            out.addAll(this);
+            return;
+        }
+        int[] matches = Arrays.copyOfRange(positions, lo, end);
+        Arrays.sort(matches);
+        for (int position : matches) {
+            out.add(get(position));
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (modCount != builtModCount || replacements != 0) {
+            return super.contains(o);
+        }
+        return members.contains(o);
+    }
+
+    @Override
+    public String set(int index, String element) {
+        ++replacements;
+        return super.set(index, element);
+    }
+}
@@ -35,11 +35,7 @@ public class BlightAdd extends ConsoleCommand {
     }
 
     public ArrayList<String> extraOptions(String[] tokens, int depth) {
-        ArrayList<String> result = new ArrayList<>();
-        for (String id : BlightHelper.blights) {
-            result.add(id.replace(' ', '_'));
-        }
-        return result;
+        return ConsoleCommand.getBlightOptions();
     }
 
     public void errorMsg() {
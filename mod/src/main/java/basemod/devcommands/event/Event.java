@@ -4,19 +4,15 @@ import basemod.BaseMod;
 import basemod.CustomEventRoom;
 import basemod.devcommands.ConsoleCommand;
 import basemod.DevConsole;
-import basemod.ReflectionHacks;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.events.AbstractImageEvent;
 import com.megacrit.cardcrawl.events.RoomEventDialog;
 import com.megacrit.cardcrawl.helpers.EventHelper;
-import com.megacrit.cardcrawl.localization.EventStrings;
-import com.megacrit.cardcrawl.localization.LocalizedStrings;
 import com.megacrit.cardcrawl.map.MapEdge;
 import com.megacrit.cardcrawl.map.MapRoomNode;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Map;
 
 public class Event extends ConsoleCommand {
 
@@ -82,16 +78,6 @@ public class Event extends ConsoleCommand {
     }
 
     public ArrayList<String> extraOptions(String[] tokens, int depth) {
-        ArrayList<String> result = new ArrayList<>();
-
-        Map<String, EventStrings> events = (Map<String, EventStrings>) (ReflectionHacks
-                .getPrivateStatic(LocalizedStrings.class, "events"));
-        if (events != null) {
-            for (String key : events.keySet()) {
-                result.add(key.replace(' ', '_'));
-            }
-        }
-
-        return result;
+        return ConsoleCommand.getEventOptions();
     }
 }
@@ -55,13 +55,6 @@ public class Fight extends ConsoleCommand {
     }
 
     public ArrayList<String> extraOptions(String[] tokens, int depth) {
-
-        ArrayList<String> result = new ArrayList<>();
-
-        for (String id : BaseMod.encounterList) {
-            result.add(id.replace(' ', '_'));
-        }
-
-        return result;
+        return ConsoleCommand.getEncounterOptions();
     }
 }
@@ -84,11 +84,7 @@ public class Potions extends ConsoleCommand {
         }
 
         if(result.contains(tokens[depth]) && tokens.length > depth + 1) {
-            result.clear();
-            List<String> allPotions = PotionHelper.getPotions(AbstractPlayer.PlayerClass.IRONCLAD, true);
-            for (String key : allPotions) {
-                result.add(key.replace(' ', '_'));
-            }
+            result = ConsoleCommand.getPotionOptions();
             if(result.contains(tokens[depth + 1])) {
                 complete = true;
             }
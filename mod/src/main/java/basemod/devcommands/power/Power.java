@@ -53,13 +53,9 @@ public class Power extends ConsoleCommand {
 
     @Override
     public ArrayList<String> extraOptions(String[] tokens, int depth) {
-        ArrayList<String> result = new ArrayList<>();
-        for (String key : BaseMod.getPowerKeys()) {
-            result.add(key.replace(' ', '_'));
-        }
+        ArrayList<String> result = ConsoleCommand.getPowerOptions();
 
         if(result.contains(tokens[depth]) && tokens.length > depth + 1) {
-            result.clear();
             result = ConsoleCommand.smallNumbers();
 
             if(tokens[depth + 1].matches("\\d+")) {
@@ -0,0 +1,34 @@
+package basemod.devcommands.profile;
+
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+
+public class Profile extends ConsoleCommand {
+    public Profile() {
+        followup.put("start", ProfileStart.class);
+        followup.put("stop", ProfileStop.class);
+        followup.put("top", ProfileTop.class);
+        followup.put("dump", ProfileDump.class);
+        followup.put("reset", ProfileReset.class);
+    }
+
+    @Override
+    public void execute(String[] tokens, int depth) {
+        cmdProfileHelp();
+    }
+
+    @Override
+    public void errorMsg() {
+        Profile.cmdProfileHelp();
+    }
+
+    public static void cmdProfileHelp() {
+        DevConsole.couldNotParse();
+        DevConsole.log("options are:");
+        DevConsole.log("* start");
+        DevConsole.log("* stop");
+        DevConsole.log("* top [count]");
+        DevConsole.log("* dump");
+        DevConsole.log("* reset");
+    }
+}
@@ -0,0 +1,21 @@
+package basemod.devcommands.profile;
+
+import basemod.BaseMod;
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+import basemod.profiler.DispatchProfiler;
+
+import java.io.IOException;
+
+public class ProfileDump extends ConsoleCommand {
+    @Override
+    public void execute(String[] tokens, int depth) {
+        try {
+            String path = DispatchProfiler.dumpCSV();
+            DevConsole.log("wrote " + path);
+        } catch (IOException e) {
+            BaseMod.logger.error("Failed to write dispatch profile: " + e);
+            DevConsole.log("could not write profile, see log");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package basemod.devcommands.profile;
+
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+import basemod.profiler.DispatchProfiler;
+
+public class ProfileReset extends ConsoleCommand {
+    @Override
+    public void execute(String[] tokens, int depth) {
+        DispatchProfiler.reset();
+        DevConsole.log("profiler results cleared");
+    }
+}
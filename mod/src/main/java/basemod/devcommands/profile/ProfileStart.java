@@ -0,0 +1,17 @@
+package basemod.devcommands.profile;
+
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+import basemod.profiler.DispatchProfiler;
+
+public class ProfileStart extends ConsoleCommand {
+    @Override
+    public void execute(String[] tokens, int depth) {
+        if (DispatchProfiler.isEnabled()) {
+            DevConsole.log("profiler is already running");
+            return;
+        }
+        DispatchProfiler.start();
+        DevConsole.log("profiling subscriber dispatch");
+    }
+}
@@ -0,0 +1,17 @@
+package basemod.devcommands.profile;
+
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+import basemod.profiler.DispatchProfiler;
+
+public class ProfileStop extends ConsoleCommand {
+    @Override
+    public void execute(String[] tokens, int depth) {
+        if (!DispatchProfiler.isEnabled()) {
+            DevConsole.log("profiler is not running");
+            return;
+        }
+        DispatchProfiler.stop();
+        DevConsole.log("profiler stopped after " + (DispatchProfiler.getProfiledNanos() / 1_000_000) + " ms");
+    }
+}
@@ -0,0 +1,63 @@
+package basemod.devcommands.profile;
+
+import basemod.BaseMod;
+import basemod.DevConsole;
+import basemod.devcommands.ConsoleCommand;
+import basemod.profiler.DispatchProfiler;
+import basemod.profiler.DispatchStats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProfileTop extends ConsoleCommand {
+    private static final int DEFAULT_COUNT = 5;
+
+    public ProfileTop() {
+        maxExtraTokens = 1;
+    }
+
+    @Override
+    public void execute(String[] tokens, int depth) {
+        int count = DEFAULT_COUNT;
+        if (tokens.length > depth) {
+            try {
+                count = Integer.parseInt(tokens[depth]);
+            } catch (NumberFormatException e) {
+                Profile.cmdProfileHelp();
+                return;
+            }
+            if (count < 1) {
+                Profile.cmdProfileHelp();
+                return;
+            }
+        }
+
+        List<DispatchStats> top = DispatchProfiler.getTop(count);
+        if (top.isEmpty()) {
+            DevConsole.log("no samples, use profile start first");
+            return;
+        }
+        for (DispatchStats s : top) {
+            String line = String.format("%s %s.%s: %d calls, avg %.3f ms, p99 %.3f ms, ~%d B/call",
+                    s.modID == null ? "slaythespire" : s.modID,
+                    s.subscriberClass.getSimpleName(),
+                    s.event,
+                    s.getCalls(),
+                    s.getAverageNanos() / 1_000_000.0,
+                    s.getP99Nanos() / 1_000_000.0,
+                    s.getAverageAllocatedBytes());
+            BaseMod.logger.info(line);
+            DevConsole.log(line);
+        }
+    }
+
+    @Override
+    public ArrayList<String> extraOptions(String[] tokens, int depth) {
+        return ConsoleCommand.smallNumbers();
+    }
+
+    @Override
+    public void errorMsg() {
+        Profile.cmdProfileHelp();
+    }
+}
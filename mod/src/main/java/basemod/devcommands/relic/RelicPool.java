@@ -2,7 +2,9 @@ package basemod.devcommands.relic;
 
 import basemod.devcommands.ConsoleCommand;
 import basemod.DevConsole;
+import basemod.helpers.RelicRegistry;
 import com.megacrit.cardcrawl.helpers.RelicLibrary;
+import com.megacrit.cardcrawl.relics.AbstractRelic;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -18,7 +20,11 @@ public class RelicPool extends ConsoleCommand {
     public void execute(String[] tokens, int depth) {
         String[] relicNameArray = Arrays.copyOfRange(tokens, 2, tokens.length);
         String relicName = Relic.getRelicName(relicNameArray);
-        DevConsole.log(RelicLibrary.getRelic(relicName).tier.toString());
+        AbstractRelic relic = RelicRegistry.get(relicName);
+        if (relic == null) {
+            relic = RelicLibrary.getRelic(relicName);
+        }
+        DevConsole.log(relic.tier.toString());
     }
 
     @Override
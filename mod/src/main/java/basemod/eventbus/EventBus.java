@@ -0,0 +1,74 @@
+package basemod.eventbus;
+
+import basemod.interfaces.ISubscriber;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Holds one {@link SubscriberList} per subscriber interface.
+ *
+ * Publishers hold on to the list returned by {@link #register(Class)} and dispatch straight
+ * from it; the map is only consulted when subscribing or unsubscribing.
+ */
+public final class EventBus {
+	private final HashMap<Class<? extends ISubscriber>, SubscriberList<?>> lists = new HashMap<>();
+	private final ArrayList<SubscriberList<?>> allLists = new ArrayList<>();
+
+	public <T extends ISubscriber> SubscriberList<T> register(Class<T> type) {
+		SubscriberList<T> list = get(type);
+		if (list == null) {
+			list = new SubscriberList<>(type);
+			lists.put(type, list);
+			allLists.add(list);
+		}
+		return list;
+	}
+
+	@SuppressWarnings("unchecked")
+	public <T extends ISubscriber> SubscriberList<T> get(Class<T> type) {
+		return (SubscriberList<T>) lists.get(type);
+	}
+
+	// subscribes to every registered list sub implements
+	public void subscribe(ISubscriber sub, int priority) {
+		for (SubscriberList<?> list : allLists) {
+			if (list.getType().isInstance(sub)) {
+				list.add(sub, priority);
+			}
+		}
+	}
+
+	// returns false if type is not a registered subscriber interface
+	public boolean subscribe(ISubscriber sub, Class<? extends ISubscriber> type, int priority) {
+		SubscriberList<?> list = lists.get(type);
+		if (list == null) {
+			return false;
+		}
+		list.add(sub, priority);
+		return true;
+	}
+
+	public void unsubscribe(ISubscriber sub) {
+		for (SubscriberList<?> list : allLists) {
+			if (list.getType().isInstance(sub)) {
+				list.remove(sub);
+			}
+		}
+	}
+
+	public void unsubscribe(ISubscriber sub, Class<? extends ISubscriber> type) {
+		SubscriberList<?> list = lists.get(type);
+		if (list != null) {
+			list.remove(sub);
+		}
+	}
+
+	public void unsubscribeLater(ISubscriber sub) {
+		for (SubscriberList<?> list : allLists) {
+			if (list.getType().isInstance(sub)) {
+				list.removeLater(sub);
+			}
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package basemod.eventbus;
+
+import basemod.interfaces.ISubscriber;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Subscribers to a single subscriber interface, kept in a copy-on-write array.
+ *
+ * Dispatching iterates the array returned by {@link #getSubscribers()} directly, so a publish
+ * costs no allocation and is safe against subscribers being added or removed mid-dispatch.
+ * Subscribers are ordered by priority (lower number = receives first), ties keep registration order.
+ */
+public final class SubscriberList<T extends ISubscriber> {
+	public static final int DEFAULT_PRIORITY = 0;
+
+	private final Class<T> type;
+	private T[] subscribers;
+	private int[] priorities;
+	private final ArrayList<ISubscriber> pendingRemoval = new ArrayList<>();
+
+	@SuppressWarnings("unchecked")
+	SubscriberList(Class<T> type) {
+		this.type = type;
+		subscribers = (T[]) Array.newInstance(type, 0);
+		priorities = new int[0];
+	}
+
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * The current subscribers in dispatch order. The returned array is shared and must not be modified.
+	 */
+	public T[] getSubscribers() {
+		return subscribers;
+	}
+
+	public int size() {
+		return subscribers.length;
+	}
+
+	public boolean isEmpty() {
+		return subscribers.length == 0;
+	}
+
+	public boolean contains(ISubscriber sub) {
+		return indexOf(sub) >= 0;
+	}
+
+	public void add(ISubscriber sub) {
+		add(sub, DEFAULT_PRIORITY);
+	}
+
+	public void add(ISubscriber sub, int priority) {
+		T typed = type.cast(sub);
+
+		int index = subscribers.length;
+		while (index > 0 && priorities[index - 1] > priority) {
+			--index;
+		}
+
+		T[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length + 1);
+		int[] newPriorities = Arrays.copyOf(priorities, priorities.length + 1);
+		System.arraycopy(subscribers, index, newSubscribers, index + 1, subscribers.length - index);
+		System.arraycopy(priorities, index, newPriorities, index + 1, priorities.length - index);
+		newSubscribers[index] = typed;
+		newPriorities[index] = priority;
+
+		subscribers = newSubscribers;
+		priorities = newPriorities;
+	}
+
+	public boolean remove(ISubscriber sub) {
+		int index = indexOf(sub);
+		if (index < 0) {
+			return false;
+		}
+
+		T[] newSubscribers = Arrays.copyOf(subscribers, subscribers.length - 1);
+		int[] newPriorities = Arrays.copyOf(priorities, priorities.length - 1);
+		System.arraycopy(subscribers, index + 1, newSubscribers, index, subscribers.length - index - 1);
+		System.arraycopy(priorities, index + 1, newPriorities, index, priorities.length - index - 1);
+
+		subscribers = newSubscribers;
+		priorities = newPriorities;
+		return true;
+	}
+
+	/**
+	 * Queues sub to be removed the next time {@link #applyPendingRemovals()} runs,
+	 * which publishers do right after dispatching.
+	 */
+	public void removeLater(ISubscriber sub) {
+		if (contains(sub) && !pendingRemoval.contains(sub)) {
+			pendingRemoval.add(sub);
+		}
+	}
+
+	public void applyPendingRemovals() {
+		if (pendingRemoval.isEmpty()) {
+			return;
+		}
+		for (ISubscriber sub : pendingRemoval) {
+			remove(sub);
+		}
+		pendingRemoval.clear();
+	}
+
+	private int indexOf(ISubscriber sub) {
+		for (int i = 0; i < subscribers.length; ++i) {
+			if (subscribers[i] == sub) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
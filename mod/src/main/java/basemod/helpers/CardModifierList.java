@@ -0,0 +1,272 @@
+package basemod.helpers;
+
+import basemod.abstracts.AbstractCardModifier;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.megacrit.cardcrawl.actions.utility.UseCardAction;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.cards.CardGroup;
+import com.megacrit.cardcrawl.cards.DamageInfo;
+import com.megacrit.cardcrawl.core.AbstractCreature;
+import com.megacrit.cardcrawl.monsters.AbstractMonster;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The modifiers on a single card, kept in priority order.
+ *
+ * Still an ArrayList so code that uses CardModifierFields.cardModifiers directly keeps working.
+ * On top of that it keeps, per hook, an array of only the modifiers whose class overrides that hook,
+ * and an index by identifier. Both are rebuilt lazily after the list changes, so mods that edit the
+ * list directly instead of going through CardModifierManager don't leave them stale.
+ */
+public class CardModifierList extends ArrayList<AbstractCardModifier>
+{
+    public static final int ON_APPLY_POWERS = 0;
+    public static final int MODIFY_DESCRIPTION = 1;
+    public static final int ON_USE = 2;
+    public static final int ON_DRAWN = 3;
+    public static final int ON_EXHAUSTED = 4;
+    public static final int ON_RETAINED = 5;
+    public static final int MODIFY_DAMAGE = 6;
+    public static final int MODIFY_DAMAGE_FINAL = 7;
+    public static final int MODIFY_BLOCK = 8;
+    public static final int MODIFY_BLOCK_FINAL = 9;
+    public static final int ON_UPDATE = 10;
+    public static final int ON_RENDER = 11;
+    public static final int AT_END_OF_TURN = 12;
+    public static final int ON_OTHER_CARD_PLAYED = 13;
+    public static final int CAN_PLAY_CARD = 14;
+    public static final int REPLACE_COST_STRING = 15;
+    public static final int ALTERNATE_COST = 16;
+    public static final int REMOVE_AT_END_OF_TURN = 17;
+    public static final int REMOVE_ON_CARD_PLAYED = 18;
+    private static final int HOOK_COUNT = 19;
+
+    private static final AbstractCardModifier[] EMPTY = new AbstractCardModifier[0];
+
+    // Key: modifier class
+    // Value: bitmask of the hooks it overrides
+    private static final ConcurrentHashMap<Class<?>, Integer> overriddenHooks = new ConcurrentHashMap<>();
+
+    // modCount covers structural changes, this covers set(), which ArrayList doesn't count
+    private int replacements = 0;
+    private int indexedModCount = -1;
+    private int indexedReplacements = -1;
+    private final AbstractCardModifier[][] hookModifiers = new AbstractCardModifier[HOOK_COUNT][];
+    private HashMap<String, ArrayList<AbstractCardModifier>> byIdentifier = null;
+
+    public CardModifierList()
+    {
+        super();
+    }
+
+    public CardModifierList(List<AbstractCardModifier> mods)
+    {
+        super(mods);
+        Collections.sort(this);
+    }
+
+    /**
+     * inserts mod after every modifier with the same or lower priority.
+     */
+    public void addSorted(AbstractCardModifier mod)
+    {
+        int index = size();
+        while (index > 0 && get(index - 1).compareTo(mod) > 0) {
+            --index;
+        }
+        add(index, mod);
+    }
+
+    @Override
+    public AbstractCardModifier set(int index, AbstractCardModifier mod)
+    {
+        ++replacements;
+        return super.set(index, mod);
+    }
+
+    // ArrayList's sublists write to the backing array directly, this one goes through the methods above
+    @Override
+    public List<AbstractCardModifier> subList(int fromIndex, int toIndex)
+    {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+        }
+        return new SubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * the modifiers overriding hook, in priority order. The returned array is shared and must not be modified.
+     */
+    public AbstractCardModifier[] forHook(int hook)
+    {
+        checkIndex();
+        AbstractCardModifier[] ret = hookModifiers[hook];
+        if (ret == null) {
+            int count = 0;
+            for (AbstractCardModifier mod : this) {
+                if (overrides(mod, hook)) {
+                    ++count;
+                }
+            }
+            if (count == 0) {
+                ret = EMPTY;
+            } else {
+                ret = new AbstractCardModifier[count];
+                int i = 0;
+                for (AbstractCardModifier mod : this) {
+                    if (overrides(mod, hook)) {
+                        ret[i++] = mod;
+                    }
+                }
+            }
+            hookModifiers[hook] = ret;
+        }
+        return ret;
+    }
+
+    /**
+     * the modifiers with identifier id, in priority order. The returned list is shared and must not be modified.
+     */
+    public List<AbstractCardModifier> withIdentifier(AbstractCard card, String id)
+    {
+        checkIndex();
+        if (byIdentifier == null) {
+            byIdentifier = new HashMap<>();
+            for (AbstractCardModifier mod : this) {
+                String modID = mod.identifier(card);
+                if (modID != null) {
+                    byIdentifier.computeIfAbsent(modID, k -> new ArrayList<>()).add(mod);
+                }
+            }
+        }
+        List<AbstractCardModifier> ret = byIdentifier.get(id);
+        return ret == null ? Collections.emptyList() : ret;
+    }
+
+    private void checkIndex()
+    {
+        if (indexedModCount != modCount || indexedReplacements != replacements) {
+            for (int i = 0; i < HOOK_COUNT; ++i) {
+                hookModifiers[i] = null;
+            }
+            byIdentifier = null;
+            indexedModCount = modCount;
+            indexedReplacements = replacements;
+        }
+    }
+
+    private static boolean overrides(AbstractCardModifier mod, int hook)
+    {
+        Integer hooks = overriddenHooks.get(mod.getClass());
+        if (hooks == null) {
+            hooks = findOverriddenHooks(mod.getClass());
+            overriddenHooks.put(mod.getClass(), hooks);
+        }
+        return (hooks & (1 << hook)) != 0;
+    }
+
+    private static int findOverriddenHooks(Class<?> cls)
+    {
+        int hooks = 0;
+        hooks |= overrides(cls, ON_APPLY_POWERS, "onApplyPowers", AbstractCard.class);
+        hooks |= overrides(cls, MODIFY_DESCRIPTION, "modifyDescription", String.class, AbstractCard.class);
+        hooks |= overrides(cls, ON_USE, "onUse", AbstractCard.class, AbstractCreature.class, UseCardAction.class);
+        hooks |= overrides(cls, ON_DRAWN, "onDrawn", AbstractCard.class);
+        hooks |= overrides(cls, ON_EXHAUSTED, "onExhausted", AbstractCard.class);
+        hooks |= overrides(cls, ON_RETAINED, "onRetained", AbstractCard.class);
+        hooks |= overrides(cls, MODIFY_DAMAGE, "modifyDamage", float.class, DamageInfo.DamageType.class, AbstractCard.class, AbstractMonster.class);
+        hooks |= overrides(cls, MODIFY_DAMAGE_FINAL, "modifyDamageFinal", float.class, DamageInfo.DamageType.class, AbstractCard.class, AbstractMonster.class);
+        hooks |= overrides(cls, MODIFY_BLOCK, "modifyBlock", float.class, AbstractCard.class);
+        hooks |= overrides(cls, MODIFY_BLOCK_FINAL, "modifyBlockFinal", float.class, AbstractCard.class);
+        hooks |= overrides(cls, ON_UPDATE, "onUpdate", AbstractCard.class);
+        hooks |= overrides(cls, ON_RENDER, "onRender", AbstractCard.class, SpriteBatch.class);
+        hooks |= overrides(cls, AT_END_OF_TURN, "atEndOfTurn", AbstractCard.class, CardGroup.class);
+        hooks |= overrides(cls, ON_OTHER_CARD_PLAYED, "onOtherCardPlayed", AbstractCard.class, AbstractCard.class, CardGroup.class);
+        hooks |= overrides(cls, CAN_PLAY_CARD, "canPlayCard", AbstractCard.class);
+        hooks |= overrides(cls, REPLACE_COST_STRING, "replaceCostString", AbstractCard.class, String.class, Color.class);
+        hooks |= overrides(cls, ALTERNATE_COST, "getAlternateResource", AbstractCard.class);
+        hooks |= overrides(cls, ALTERNATE_COST, "prioritizeAlternateCost", AbstractCard.class);
+        hooks |= overrides(cls, ALTERNATE_COST, "canSplitCost", AbstractCard.class);
+        hooks |= overrides(cls, ALTERNATE_COST, "spendAlternateCost", AbstractCard.class, int.class);
+        hooks |= overrides(cls, REMOVE_AT_END_OF_TURN, "removeAtEndOfTurn", AbstractCard.class);
+        hooks |= overrides(cls, REMOVE_ON_CARD_PLAYED, "removeOnCardPlayed", AbstractCard.class);
+        return hooks;
+    }
+
+    private static int overrides(Class<?> cls, int hook, String methodName, Class<?>... parameterTypes)
+    {
+        try {
+            if (cls.getMethod(methodName, parameterTypes).getDeclaringClass() == AbstractCardModifier.class) {
+                return 0;
+            }
+        } catch (NoSuchMethodException | SecurityException ignored) {
+        }
+        // when in doubt, dispatch
+        return 1 << hook;
+    }
+
+    private class SubList extends AbstractList<AbstractCardModifier>
+    {
+        private final int offset;
+        private int size;
+
+        SubList(int offset, int size)
+        {
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override
+        public AbstractCardModifier get(int index)
+        {
+            checkRange(index, size);
+            return CardModifierList.this.get(offset + index);
+        }
+
+        @Override
+        public AbstractCardModifier set(int index, AbstractCardModifier mod)
+        {
+            checkRange(index, size);
+            return CardModifierList.this.set(offset + index, mod);
+        }
+
+        @Override
+        public void add(int index, AbstractCardModifier mod)
+        {
+            checkRange(index, size + 1);
+            CardModifierList.this.add(offset + index, mod);
+            ++size;
+            ++modCount;
+        }
+
+        @Override
+        public AbstractCardModifier remove(int index)
+        {
+            checkRange(index, size);
+            AbstractCardModifier ret = CardModifierList.this.remove(offset + index);
+            --size;
+            ++modCount;
+            return ret;
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        private void checkRange(int index, int bound)
+        {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
+}
@@ -13,22 +13,36 @@ import com.megacrit.cardcrawl.ui.panels.EnergyPanel;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.Set;
 
 public class CardModifierManager
 {
-    private static ArrayList<AbstractCardModifier> modifiers(AbstractCard c) {
-        return CardModifierPatches.CardModifierFields.cardModifiers.get(c);
+    // cards whose description needs rebuilding, see markDescriptionDirty
+    private static final Set<AbstractCard> dirtyDescriptions = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static int batchDepth = 0;
+
+    /**
+     * the modifiers on card. Anything that replaced the field with a plain list is converted back.
+     */
+    public static CardModifierList modifiers(AbstractCard c) {
+        ArrayList<AbstractCardModifier> mods = CardModifierPatches.CardModifierFields.cardModifiers.get(c);
+        if (mods instanceof CardModifierList) {
+            return (CardModifierList) mods;
+        }
+        CardModifierList ret = mods == null ? new CardModifierList() : new CardModifierList(mods);
+        CardModifierPatches.CardModifierFields.cardModifiers.set(c, ret);
+        return ret;
     }
 
     /**
      * adds a modifier (mod) to card.
      */
     public static void addModifier(AbstractCard card, AbstractCardModifier mod) {
-        modifiers(card).add(mod);
-        Collections.sort(modifiers(card));
+        modifiers(card).addSorted(mod);
         mod.onInitialApplication(card);
-        card.initializeDescription();
+        markDescriptionDirty(card);
     }
 
     /**
@@ -39,47 +53,40 @@ public class CardModifierManager
             modifiers(card).remove(mod);
             mod.onRemove(card);
         }
-        card.initializeDescription();
+        markDescriptionDirty(card);
     }
 
     /**
      * removes all modifiers from card that match id. Inherent mods are only included if the method is sent "true"
      */
     public static void removeModifiersById(AbstractCard card, String id, boolean includeInherent) {
+        if (modifiers(card).withIdentifier(card, id).isEmpty()) {
+            markDescriptionDirty(card);
+            return;
+        }
         Iterator<AbstractCardModifier> it = modifiers(card).iterator();
         while (it.hasNext()) {
             AbstractCardModifier mod = it.next();
-            if (mod.identifier(card).equals(id) && (!mod.isInherent(card) || includeInherent)) {
+            if (id.equals(mod.identifier(card)) && (!mod.isInherent(card) || includeInherent)) {
                 it.remove();
                 mod.onRemove(card);
             }
         }
-        card.initializeDescription();
+        markDescriptionDirty(card);
     }
 
     /**
      * returns true if card has a modifier that matches id
      */
     public static boolean hasModifier(AbstractCard card, String id) {
-        for (AbstractCardModifier mod : modifiers(card)) {
-            if (mod.identifier(card).equals(id)) {
-                return true;
-            }
-        }
-        return false;
+        return !modifiers(card).withIdentifier(card, id).isEmpty();
     }
 
     /**
      * returns an ArrayList containing all modifiers that match id on card.
      */
     public static ArrayList<AbstractCardModifier> getModifiers(AbstractCard card, String id) {
-        ArrayList<AbstractCardModifier> retVal = new ArrayList<>();
-        for (AbstractCardModifier mod : modifiers(card)) {
-            if (mod.identifier(card).equals(id)) {
-                retVal.add(mod);
-            }
-        }
-        return retVal;
+        return new ArrayList<>(modifiers(card).withIdentifier(card, id));
     }
 
     /**
@@ -94,7 +101,7 @@ public class CardModifierManager
                 mod.onRemove(card);
             }
         }
-        card.initializeDescription();
+        markDescriptionDirty(card);
     }
 
     /**
@@ -104,143 +111,190 @@ public class CardModifierManager
      * @param removeOld - whether the modifiers copied should be removed from the old card (IE, moved instead of copied)
      */
     public static void copyModifiers(AbstractCard oldCard, AbstractCard newCard, boolean includeInherent, boolean replace, boolean removeOld) {
-        if (replace) {
-            removeAllModifiers(newCard, includeInherent);
-        }
-        Iterator<AbstractCardModifier> it = modifiers(oldCard).iterator();
-        while (it.hasNext()) {
-            AbstractCardModifier mod = it.next();
-            if (!mod.isInherent(oldCard) || includeInherent) {
-                if (removeOld) {
-                    it.remove();
-                    mod.onRemove(oldCard);
+        batch(() -> {
+            if (replace) {
+                removeAllModifiers(newCard, includeInherent);
+            }
+            Iterator<AbstractCardModifier> it = modifiers(oldCard).iterator();
+            while (it.hasNext()) {
+                AbstractCardModifier mod = it.next();
+                if (!mod.isInherent(oldCard) || includeInherent) {
+                    if (removeOld) {
+                        it.remove();
+                        mod.onRemove(oldCard);
+                    }
+                    AbstractCardModifier newMod = mod.makeCopy();
+                    modifiers(newCard).addSorted(newMod);
+                    newMod.onInitialApplication(newCard);
                 }
-                AbstractCardModifier newMod = mod.makeCopy();
-                modifiers(newCard).add(newMod);
-                newMod.onInitialApplication(newCard);
             }
-        }
-        if (removeOld) {
-            oldCard.initializeDescription();
-        }
-        newCard.initializeDescription();
+            if (removeOld) {
+                markDescriptionDirty(oldCard);
+            }
+            markDescriptionDirty(newCard);
+        });
     }
 
     public static void removeEndOfTurnModifiers(AbstractCard card) {
-        Iterator<AbstractCardModifier> it = modifiers(card).iterator();
-        while (it.hasNext()) {
-            AbstractCardModifier mod = it.next();
+        boolean removed = false;
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.REMOVE_AT_END_OF_TURN)) {
             if (mod.removeAtEndOfTurn(card)) {
-                it.remove();
+                modifiers(card).remove(mod);
                 mod.onRemove(card);
+                removed = true;
             }
         }
-        card.initializeDescription();
+        if (removed) {
+            markDescriptionDirty(card);
+        }
     }
 
     public static void removeWhenPlayedModifiers(AbstractCard card) {
-        Iterator<AbstractCardModifier> it = modifiers(card).iterator();
-        while (it.hasNext()) {
-            AbstractCardModifier mod = it.next();
+        boolean removed = false;
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.REMOVE_ON_CARD_PLAYED)) {
             if (mod.removeOnCardPlayed(card)) {
-                it.remove();
+                modifiers(card).remove(mod);
                 mod.onRemove(card);
+                removed = true;
             }
         }
-        card.initializeDescription();
+        if (removed) {
+            markDescriptionDirty(card);
+        }
+    }
+
+    /**
+     * Runs changes, which may add, remove or copy any number of modifiers on any number of cards, and rebuilds
+     * the description of each changed card once at the end instead of after every change. Batches can be nested,
+     * the rebuilds happen when the outermost ends, even if changes throws.
+     */
+    public static void batch(Runnable changes) {
+        ++batchDepth;
+        try {
+            changes.run();
+        } finally {
+            if (--batchDepth == 0) {
+                flushDescriptions();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds card's description after a modifier change. Outside of a batch that happens right away, so the
+     * description is up to date when addModifier and the like return. Inside one it's put off until the
+     * outermost batch ends.
+     */
+    public static void markDescriptionDirty(AbstractCard card) {
+        if (batchDepth > 0) {
+            dirtyDescriptions.add(card);
+        } else {
+            dirtyDescriptions.remove(card);
+            card.initializeDescription();
+        }
+    }
+
+    private static void flushDescriptions() {
+        if (dirtyDescriptions.isEmpty()) {
+            return;
+        }
+        AbstractCard[] cards = dirtyDescriptions.toArray(new AbstractCard[0]);
+        dirtyDescriptions.clear();
+        for (AbstractCard card : cards) {
+            card.initializeDescription();
+        }
     }
 
     public static void onApplyPowers(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_APPLY_POWERS)) {
             mod.onApplyPowers(card);
         }
     }
 
     public static String onCreateDescription(AbstractCard card, String rawDescription) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.MODIFY_DESCRIPTION)) {
             rawDescription = mod.modifyDescription(rawDescription, card);
         }
         return rawDescription;
     }
 
     public static void onUseCard(AbstractCard card, AbstractCreature target, UseCardAction action) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_USE)) {
             mod.onUse(card, target, action);
         }
     }
 
     public static void onCardDrawn(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_DRAWN)) {
             mod.onDrawn(card);
         }
     }
 
     public static void onCardExhausted(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_EXHAUSTED)) {
             mod.onExhausted(card);
         }
     }
 
     public static void onCardRetained(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_RETAINED)) {
             mod.onRetained(card);
         }
     }
 
     public static float onModifyDamage(float damage, AbstractCard card, AbstractMonster mo) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.MODIFY_DAMAGE)) {
             damage = mod.modifyDamage(damage, card.damageTypeForTurn, card, mo);
         }
         return damage;
     }
 
     public static float onModifyDamageFinal(float damage, AbstractCard card, AbstractMonster mo) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.MODIFY_DAMAGE_FINAL)) {
             damage = mod.modifyDamageFinal(damage, card.damageTypeForTurn, card, mo);
         }
         return damage;
     }
 
     public static float onModifyBlock(float block, AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.MODIFY_BLOCK)) {
             block = mod.modifyBlock(block, card);
         }
         return block;
     }
 
     public static float onModifyBlockFinal(float block, AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.MODIFY_BLOCK_FINAL)) {
             block = mod.modifyBlockFinal(block, card);
         }
         return block;
     }
 
     public static void onUpdate(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_UPDATE)) {
             mod.onUpdate(card);
         }
     }
 
     public static void onRender(AbstractCard card, SpriteBatch sb) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_RENDER)) {
             mod.onRender(card, sb);
         }
     }
 
     public static void atEndOfTurn(AbstractCard card, CardGroup group) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.AT_END_OF_TURN)) {
             mod.atEndOfTurn(card, group);
         }
     }
 
     public static void onOtherCardPlayed(AbstractCard card, AbstractCard otherCard, CardGroup group) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ON_OTHER_CARD_PLAYED)) {
             mod.onOtherCardPlayed(card, otherCard, group);
         }
     }
 
     public static boolean canPlayCard(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.CAN_PLAY_CARD)) {
             if (!mod.canPlayCard(card)) {
                 return false;
             }
@@ -251,32 +305,30 @@ public class CardModifierManager
     //the player is considered to have enough alternate cost when their energy + the total of alternate splittable resources >=
     // cost for turn, OR when any single non-splittable resource >= cost for turn.
     public static boolean hasEnoughAlternateCost(AbstractCard card) {
-        ArrayList<AbstractCardModifier> splittableCosts = new ArrayList<>();
-        ArrayList<AbstractCardModifier> nonSplittableCosts = new ArrayList<>();
-        for (AbstractCardModifier mod : modifiers(card)) {
-            if (mod.canSplitCost(card)) {
-                splittableCosts.add(mod);
-            } else {
-                nonSplittableCosts.add(mod);
-            }
-
+        AbstractCardModifier[] costMods = modifiers(card).forHook(CardModifierList.ALTERNATE_COST);
+        if (costMods.length == 0) {
+            return false;
         }
         int amt = EnergyPanel.totalCount;
-        for (AbstractCardModifier mod : splittableCosts) {
-            int c = mod.getAlternateResource(card);
-            if (c > -1) {
-                amt += c;
+        for (AbstractCardModifier mod : costMods) {
+            if (mod.canSplitCost(card)) {
+                int c = mod.getAlternateResource(card);
+                if (c > -1) {
+                    amt += c;
+                }
             }
         }
         if (amt >= card.costForTurn) {
             return true;
         }
-        for (AbstractCardModifier mod : nonSplittableCosts) {
-            int c = mod.getAlternateResource(card);
-            if (c > amt) {
-                amt = c;
-                if (amt >= card.costForTurn) {
-                    return true;
+        for (AbstractCardModifier mod : costMods) {
+            if (!mod.canSplitCost(card)) {
+                int c = mod.getAlternateResource(card);
+                if (c > amt) {
+                    amt = c;
+                    if (amt >= card.costForTurn) {
+                        return true;
+                    }
                 }
             }
         }
@@ -284,7 +336,7 @@ public class CardModifierManager
     }
 
     public static String getCostString(AbstractCard card, String currentString, Color color) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.REPLACE_COST_STRING)) {
             currentString = mod.replaceCostString(card, currentString, color);
         }
         return currentString;
@@ -292,7 +344,7 @@ public class CardModifierManager
 
     public static int getPreEnergyResourceAmount(AbstractCard card) {
         int tmp = 0;
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (mod.prioritizeAlternateCost(card)) {
                 tmp = Math.max(tmp, mod.getAlternateResource(card));
             }
@@ -302,7 +354,7 @@ public class CardModifierManager
 
     public static int getPostEnergyResourceAmount(AbstractCard card) {
         int tmp = 0;
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (!mod.prioritizeAlternateCost(card)) {
                 tmp = Math.max(tmp, mod.getAlternateResource(card));
             }
@@ -312,7 +364,7 @@ public class CardModifierManager
 
     public static int getSplittableResourceAmount(AbstractCard card) {
         int tmp = 0;
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (mod.canSplitCost(card)) {
                 int c = mod.getAlternateResource(card);
                 if (c > -1) {
@@ -324,7 +376,7 @@ public class CardModifierManager
     }
 
     public static void spendPreEnergyResource(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (mod.prioritizeAlternateCost(card)) {
                 int c = mod.getAlternateResource(card);
                 if (c >= card.costForTurn) {
@@ -336,7 +388,7 @@ public class CardModifierManager
     }
 
     public static void spendPostEnergyResource(AbstractCard card) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (!mod.prioritizeAlternateCost(card)) {
                 int c = mod.getAlternateResource(card);
                 if (c >= card.costForTurn) {
@@ -349,7 +401,7 @@ public class CardModifierManager
 
     public static int spendPreEnergySplittableResource(AbstractCard card) {
         int remainingCost = card.costForTurn;
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (mod.prioritizeAlternateCost(card) && mod.canSplitCost(card)) {
                 remainingCost = mod.spendAlternateCost(card, remainingCost);
                 if (remainingCost <= 0) {
@@ -361,7 +413,7 @@ public class CardModifierManager
     }
 
     public static void spendPostEnergySplittableResource(AbstractCard card, int remainingCost) {
-        for (AbstractCardModifier mod : modifiers(card)) {
+        for (AbstractCardModifier mod : modifiers(card).forHook(CardModifierList.ALTERNATE_COST)) {
             if (!mod.prioritizeAlternateCost(card) && mod.canSplitCost(card)) {
                 remainingCost = mod.spendAlternateCost(card, remainingCost);
                 if (remainingCost <= 0) {
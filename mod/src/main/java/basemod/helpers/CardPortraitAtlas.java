@@ -0,0 +1,159 @@
+package basemod.helpers;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Packs custom card portraits into shared pages, one set of pages per card color, the same way
+ * LibGdxLoader packs Spriter images with a PixmapPacker.
+ *
+ * With every portrait in its own texture, drawing a hand, a grid or the compendium switches textures
+ * for every card and SpriteBatch can't batch anything. Packed, the cards of one color mostly share a
+ * handful of pages. Off by default ("card-portrait-atlas" in the BaseMod config) since anything that
+ * draws a card's portrait texture directly instead of its region would draw the whole page.
+ *
+ * Only works while card images are being batched (see CustomCard.beginImageBatch): images are decoded
+ * on TextureCache's preload threads and packed on the GL thread. A page is uploaded as soon as it's
+ * full, so only the page being filled for each color is kept in memory.
+ */
+public class CardPortraitAtlas {
+	private static final Logger logger = LogManager.getLogger(CardPortraitAtlas.class.getName());
+
+	public static boolean enabled = false;
+	// images larger than this in either dimension keep their own texture
+	public static int maxImageSize = 512;
+
+	private static final int PAGE_SIZE = 2048;
+	private static final int PADDING = 2;
+	// decoded images waiting to be packed beyond this are packed right away
+	private static final int MAX_PENDING = 64;
+
+	// Key: image path
+	// Value: its region in a page
+	private static final HashMap<String, AtlasRegion> regions = new HashMap<>();
+	private static final ArrayList<Texture> pages = new ArrayList<>();
+	// Key: card color
+	private static final HashMap<AbstractCard.CardColor, PixmapPacker> packers = new HashMap<>();
+	// Key: image path, in the order they were queued
+	private static final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+
+	private CardPortraitAtlas() {}
+
+	// find - the packed region of path, or null if it isn't packed. Copy it before changing it
+	public static AtlasRegion find(String path) {
+		return regions.get(path);
+	}
+
+	// queue - decode path in the background and pack it with the other images of color.
+	// false if it can't be packed, in which case the caller has to load it itself
+	public static boolean queue(String path, AbstractCard.CardColor color) {
+		if (!enabled || path == null) {
+			return false;
+		}
+		if (regions.containsKey(path) || pending.containsKey(path)) {
+			return true;
+		}
+		Future<Pixmap> pixmap = TextureCache.preloadPixmap(path);
+		if (pixmap == null) {
+			return false;
+		}
+		pending.put(path, new Pending(color, pixmap));
+
+		if (pending.size() > MAX_PENDING) {
+			Iterator<Map.Entry<String, Pending>> it = pending.entrySet().iterator();
+			while (pending.size() > MAX_PENDING / 2) {
+				Map.Entry<String, Pending> oldest = it.next();
+				it.remove();
+				pack(oldest.getKey(), oldest.getValue());
+			}
+		}
+		return true;
+	}
+
+	// finish - pack everything still queued and upload the last pages
+	public static void finish() {
+		for (Map.Entry<String, Pending> e : pending.entrySet()) {
+			pack(e.getKey(), e.getValue());
+		}
+		pending.clear();
+		for (PixmapPacker packer : packers.values()) {
+			while (packer.getPages().size > 0) {
+				upload(packer.getPages().removeIndex(0));
+			}
+		}
+		packers.clear();
+		if (!regions.isEmpty()) {
+			logger.info("Packed " + regions.size() + " card portraits into " + pages.size() + " pages");
+		}
+	}
+
+	private static void pack(String path, Pending p) {
+		Pixmap pixmap;
+		try {
+			pixmap = p.pixmap.get();
+		} catch (ExecutionException e) {
+			// left to the caller, which loads it the usual way and reports the error
+			return;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		try {
+			if (pixmap.getWidth() > maxImageSize || pixmap.getHeight() > maxImageSize) {
+				return;
+			}
+			PixmapPacker packer = packers.get(p.color);
+			if (packer == null) {
+				packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, true);
+				packers.put(p.color, packer);
+			}
+			packer.pack(path, pixmap);
+			// the packer only starts a new page once an image doesn't fit on the current one
+			while (packer.getPages().size > 1) {
+				upload(packer.getPages().removeIndex(0));
+			}
+		} finally {
+			pixmap.dispose();
+		}
+	}
+
+	private static void upload(PixmapPacker.Page page) {
+		if (page.getRects().size == 0) {
+			page.getPixmap().dispose();
+			return;
+		}
+		Texture texture = new Texture(page.getPixmap());
+		texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+		pages.add(texture);
+		for (String path : page.getRects().keys()) {
+			Rectangle rect = page.getRects().get(path);
+			regions.put(path, new AtlasRegion(texture, (int) rect.x, (int) rect.y, (int) rect.width, (int) rect.height));
+		}
+		page.getPixmap().dispose();
+	}
+
+	private static class Pending {
+		final AbstractCard.CardColor color;
+		final Future<Pixmap> pixmap;
+
+		Pending(AbstractCard.CardColor color, Future<Pixmap> pixmap) {
+			this.color = color;
+			this.pixmap = pixmap;
+		}
+	}
+}
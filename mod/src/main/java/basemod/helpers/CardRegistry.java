@@ -0,0 +1,215 @@
+package basemod.helpers;
+
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.helpers.CardLibrary;
+import com.megacrit.cardcrawl.unlock.UnlockTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The cards in CardLibrary.cards indexed by color and rarity.
+ *
+ * CardLibrary keeps every card in one map, so anything that wants the cards of one color (a modded
+ * character's card pool, the compendium tabs, the modded character cards custom mod) used to go through
+ * all of them. The index is built once CardLibrary is initialized, after EditCards, and rebuilt the next
+ * time it's used after CardLibrary.cards changes. CardLibrary.cards is replaced with a {@link TrackedCards}
+ * when CardLibrary is loaded, which counts puts and removes, so mods that edit the map directly are seen
+ * too, including replacing a card under an existing ID.
+ *
+ * Cards are kept in CardLibrary.cards' iteration order, so pools built from the index are in the same
+ * order as pools built from the map and seeded runs come out the same. Curses aren't in CardLibrary.cards
+ * and aren't indexed.
+ */
+public class CardRegistry {
+	// Key: card color
+	private static final HashMap<AbstractCard.CardColor, ColorCards> colors = new HashMap<>();
+	private static Map<String, AbstractCard> indexedCards = null;
+	private static int indexedSize = -1;
+	private static long indexedChanges = -1;
+	private static boolean dirty = true;
+	private static long version = 0;
+
+	private CardRegistry() {}
+
+	// getCards - every card of color. The returned list is shared and can't be modified
+	public static List<AbstractCard> getCards(AbstractCard.CardColor color) {
+		ColorCards cards = getColor(color);
+		return cards == null ? Collections.emptyList() : cards.all;
+	}
+
+	// getCards - the cards of color and rarity. The returned list is shared and can't be modified
+	public static List<AbstractCard> getCards(AbstractCard.CardColor color, AbstractCard.CardRarity rarity) {
+		ColorCards cards = getColor(color);
+		List<AbstractCard> ret = cards == null ? null : cards.byRarity.get(rarity);
+		return ret == null ? Collections.emptyList() : ret;
+	}
+
+	// addToPool - adds the non-basic cards of color to pool, leaving out locked cards unless includeLocked
+	public static ArrayList<AbstractCard> addToPool(AbstractCard.CardColor color, ArrayList<AbstractCard> pool, boolean includeLocked) {
+		for (AbstractCard c : getCards(color)) {
+			if (c.rarity != AbstractCard.CardRarity.BASIC && (includeLocked || !UnlockTracker.isCardLocked(c.cardID))) {
+				pool.add(c);
+			}
+		}
+		return pool;
+	}
+
+	// getVersion - changes whenever the indexed cards do, for caches built from CardLibrary.cards
+	public static long getVersion() {
+		checkStale();
+		return version;
+	}
+
+	// invalidate - rebuild the index the next time it's used
+	public static void invalidate() {
+		dirty = true;
+	}
+
+	public static void rebuild() {
+		colors.clear();
+		for (AbstractCard c : CardLibrary.cards.values()) {
+			ColorCards cards = colors.get(c.color);
+			if (cards == null) {
+				cards = new ColorCards();
+				colors.put(c.color, cards);
+			}
+			cards.add(c);
+		}
+		indexedCards = CardLibrary.cards;
+		indexedSize = CardLibrary.cards.size();
+		indexedChanges = changes();
+		dirty = false;
+		++version;
+	}
+
+	private static ColorCards getColor(AbstractCard.CardColor color) {
+		checkStale();
+		return colors.get(color);
+	}
+
+	private static void checkStale() {
+		if (dirty || indexedCards != CardLibrary.cards || indexedSize != CardLibrary.cards.size() || indexedChanges != changes()) {
+			rebuild();
+		}
+	}
+
+	private static long changes() {
+		Map<String, AbstractCard> cards = CardLibrary.cards;
+		return cards instanceof TrackedCards ? ((TrackedCards) cards).changes : 0;
+	}
+
+	private static class ColorCards {
+		private final ArrayList<AbstractCard> cards = new ArrayList<>();
+		final List<AbstractCard> all = Collections.unmodifiableList(cards);
+		final HashMap<AbstractCard.CardRarity, List<AbstractCard>> byRarity = new HashMap<>();
+		// the modifiable lists behind byRarity
+		private final HashMap<AbstractCard.CardRarity, ArrayList<AbstractCard>> rarityCards = new HashMap<>();
+
+		void add(AbstractCard c) {
+			cards.add(c);
+			ArrayList<AbstractCard> rarity = rarityCards.get(c.rarity);
+			if (rarity == null) {
+				rarity = new ArrayList<>();
+				rarityCards.put(c.rarity, rarity);
+				byRarity.put(c.rarity, Collections.unmodifiableList(rarity));
+			}
+			rarity.add(c);
+		}
+	}
+
+	/**
+	 * CardLibrary.cards, counting the changes made through the map's methods. Removing through the key,
+	 * value or entry views isn't counted, but changes the size, which is checked as well.
+	 */
+	public static class TrackedCards extends HashMap<String, AbstractCard> {
+		long changes = 0;
+
+		public TrackedCards(Map<String, AbstractCard> cards) {
+			super(cards);
+		}
+
+		@Override
+		public AbstractCard put(String key, AbstractCard value) {
+			++changes;
+			return super.put(key, value);
+		}
+
+		@Override
+		public void putAll(Map<? extends String, ? extends AbstractCard> m) {
+			++changes;
+			super.putAll(m);
+		}
+
+		@Override
+		public AbstractCard putIfAbsent(String key, AbstractCard value) {
+			++changes;
+			return super.putIfAbsent(key, value);
+		}
+
+		@Override
+		public AbstractCard remove(Object key) {
+			++changes;
+			return super.remove(key);
+		}
+
+		@Override
+		public boolean remove(Object key, Object value) {
+			++changes;
+			return super.remove(key, value);
+		}
+
+		@Override
+		public AbstractCard replace(String key, AbstractCard value) {
+			++changes;
+			return super.replace(key, value);
+		}
+
+		@Override
+		public boolean replace(String key, AbstractCard oldValue, AbstractCard newValue) {
+			++changes;
+			return super.replace(key, oldValue, newValue);
+		}
+
+		@Override
+		public void replaceAll(BiFunction<? super String, ? super AbstractCard, ? extends AbstractCard> function) {
+			++changes;
+			super.replaceAll(function);
+		}
+
+		@Override
+		public AbstractCard computeIfAbsent(String key, Function<? super String, ? extends AbstractCard> mappingFunction) {
+			++changes;
+			return super.computeIfAbsent(key, mappingFunction);
+		}
+
+		@Override
+		public AbstractCard computeIfPresent(String key, BiFunction<? super String, ? super AbstractCard, ? extends AbstractCard> remappingFunction) {
+			++changes;
+			return super.computeIfPresent(key, remappingFunction);
+		}
+
+		@Override
+		public AbstractCard compute(String key, BiFunction<? super String, ? super AbstractCard, ? extends AbstractCard> remappingFunction) {
+			++changes;
+			return super.compute(key, remappingFunction);
+		}
+
+		@Override
+		public AbstractCard merge(String key, AbstractCard value, BiFunction<? super AbstractCard, ? super AbstractCard, ? extends AbstractCard> remappingFunction) {
+			++changes;
+			return super.merge(key, value, remappingFunction);
+		}
+
+		@Override
+		public void clear() {
+			++changes;
+			super.clear();
+		}
+	}
+}
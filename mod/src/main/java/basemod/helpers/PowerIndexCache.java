@@ -0,0 +1,119 @@
+package basemod.helpers;
+
+import basemod.BaseModInit;
+import com.evacipated.cardcrawl.modthespire.lib.SpireConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The base game's powers as found by BaseMod.initializePowerMap, saved so the game jar only has to be
+ * scanned again when it changes.
+ *
+ * The cache is keyed by the jar's size, modification time and a hash of its entry table (every entry's
+ * name, CRC and size). The entry table is read from the end of the jar without decompressing anything,
+ * so checking the key is much cheaper than the scan, and a patched or updated jar is noticed even if
+ * its size and time happen to match.
+ */
+public class PowerIndexCache {
+	private static final Logger logger = LogManager.getLogger(PowerIndexCache.class.getName());
+
+	public static final String FILE = SpireConfig.makeFilePath(BaseModInit.MODNAME, "power-index", "txt");
+	private static final String HEADER = "# BaseMod power index v1";
+
+	private PowerIndexCache() {}
+
+	// load - the cached powers of jar, or null if there are none or they're from a different jar
+	public static List<Entry> load(File jar) {
+		File file = new File(FILE);
+		if (!file.exists()) {
+			return null;
+		}
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			if (!HEADER.equals(reader.readLine()) || !key(jar).equals(reader.readLine())) {
+				return null;
+			}
+			List<Entry> ret = new ArrayList<>();
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				String[] parts = line.split("\t", -1);
+				if (parts.length != 3) {
+					logger.warn("Ignoring malformed power index " + FILE);
+					return null;
+				}
+				ret.add(new Entry(parts[0].isEmpty() ? null : parts[0], parts[1], Boolean.parseBoolean(parts[2])));
+			}
+			return ret;
+		} catch (IOException e) {
+			logger.warn("Failed to read power index " + FILE, e);
+			return null;
+		}
+	}
+
+	public static void save(File jar, List<Entry> entries) {
+		try {
+			Files.createDirectories(Paths.get(FILE).getParent());
+			try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Paths.get(FILE), StandardCharsets.UTF_8))) {
+				writer.println(HEADER);
+				writer.println(key(jar));
+				for (Entry entry : entries) {
+					writer.println((entry.powerID == null ? "" : entry.powerID) + "\t" + entry.className + "\t" + entry.cloneable);
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to write power index " + FILE, e);
+		}
+	}
+
+	private static String key(File jar) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		try (ZipFile zip = new ZipFile(jar)) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				digest.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+				digest.update((entry.getCrc() + ":" + entry.getSize() + ";").getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		StringBuilder hash = new StringBuilder();
+		for (byte b : digest.digest()) {
+			hash.append(String.format("%02x", b));
+		}
+		return jar.length() + "\t" + jar.lastModified() + "\t" + hash;
+	}
+
+	public static class Entry {
+		// null if the class has no POWER_ID
+		public final String powerID;
+		public final String className;
+		public final boolean cloneable;
+
+		public Entry(String powerID, String className, boolean cloneable) {
+			this.powerID = powerID;
+			this.className = className;
+			this.cloneable = cloneable;
+		}
+	}
+}
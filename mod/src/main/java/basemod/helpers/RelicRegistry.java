@@ -0,0 +1,176 @@
+package basemod.helpers;
+
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.relics.AbstractRelic;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every relic in RelicLibrary's pools and BaseMod's custom pools, indexed by ID, tier and pool.
+ *
+ * RelicLibrary keeps a private map per character and BaseMod one per custom color, so finding a relic
+ * or listing every ID used to mean reflecting into RelicLibrary and going through all of them. This is
+ * kept up to date as relics are added and removed instead: RelicLibrary's add methods are patched
+ * (see IndexRelics), and BaseMod's removeRelic, addRelicToCustomPool and removeRelicFromCustomPool
+ * update it. Relics put into those maps some other way aren't seen.
+ *
+ * A pool is either a {@link RelicType} for RelicLibrary's pools or the color of a custom pool. A relic
+ * can be in several pools; it's indexed as long as it's in at least one of them.
+ */
+public class RelicRegistry {
+	// Key: RelicType or AbstractCard.CardColor
+	// Value: relics in that pool by ID, in the order they were added
+	private static final HashMap<Object, LinkedHashMap<String, AbstractRelic>> pools = new HashMap<>();
+	private static final HashMap<String, Indexed> relics = new HashMap<>();
+	private static final EnumMap<AbstractRelic.RelicTier, LinkedHashMap<String, AbstractRelic>> tiers = new EnumMap<>(AbstractRelic.RelicTier.class);
+
+	// bumped on every change, see getVersion
+	private static int version = 0;
+	private static List<String> ids = null;
+
+	private RelicRegistry() {}
+
+	// get - the relic registered as id, or null. This is the instance in the pool, copy it before using it
+	public static AbstractRelic get(String id) {
+		Indexed indexed = relics.get(id);
+		return indexed == null ? null : indexed.relic;
+	}
+
+	public static boolean contains(String id) {
+		return relics.containsKey(id);
+	}
+
+	// getCustomColor - the color of the custom pool id is in, or null if it's only in RelicLibrary's pools
+	public static AbstractCard.CardColor getCustomColor(String id) {
+		Indexed indexed = relics.get(id);
+		return indexed == null ? null : indexed.customColor;
+	}
+
+	// getRelics - the relics in one of RelicLibrary's pools
+	public static Collection<AbstractRelic> getRelics(RelicType type) {
+		return poolView(type);
+	}
+
+	// getRelics - the relics in the custom pool of color
+	public static Collection<AbstractRelic> getRelics(AbstractCard.CardColor color) {
+		return poolView(color);
+	}
+
+	// getRelics - every registered relic of tier
+	public static Collection<AbstractRelic> getRelics(AbstractRelic.RelicTier tier) {
+		LinkedHashMap<String, AbstractRelic> ret = tiers.get(tier);
+		return ret == null ? Collections.emptyList() : Collections.unmodifiableCollection(ret.values());
+	}
+
+	// getIDs - every registered relic ID. The list is a snapshot that won't change, shared until the next change
+	public static List<String> getIDs() {
+		if (ids == null) {
+			ids = Collections.unmodifiableList(new ArrayList<>(relics.keySet()));
+		}
+		return ids;
+	}
+
+	// getVersion - changes whenever a relic is added or removed
+	public static int getVersion() {
+		return version;
+	}
+
+	public static void add(AbstractRelic relic, RelicType type) {
+		addToPool(type, relic, null);
+	}
+
+	public static void add(AbstractRelic relic, AbstractCard.CardColor color) {
+		addToPool(color, relic, color);
+	}
+
+	public static void remove(String id, RelicType type) {
+		removeFromPool(type, id);
+	}
+
+	public static void remove(String id, AbstractCard.CardColor color) {
+		removeFromPool(color, id);
+	}
+
+	// removePool - removes every relic in the custom pool of color
+	public static void removePool(AbstractCard.CardColor color) {
+		LinkedHashMap<String, AbstractRelic> pool = pools.get(color);
+		if (pool != null) {
+			for (String id : new ArrayList<>(pool.keySet())) {
+				removeFromPool(color, id);
+			}
+			pools.remove(color);
+		}
+	}
+
+	private static void addToPool(Object key, AbstractRelic relic, AbstractCard.CardColor customColor) {
+		if (relic == null || relic.relicId == null) {
+			return;
+		}
+		LinkedHashMap<String, AbstractRelic> pool = pools.computeIfAbsent(key, k -> new LinkedHashMap<>());
+		AbstractRelic previous = pool.put(relic.relicId, relic);
+		Indexed indexed = relics.get(relic.relicId);
+		if (indexed == null) {
+			indexed = new Indexed(relic);
+			relics.put(relic.relicId, indexed);
+			tiers.computeIfAbsent(relic.tier, t -> new LinkedHashMap<>()).put(relic.relicId, relic);
+		}
+		if (previous == null) {
+			++indexed.pools;
+		}
+		if (customColor != null) {
+			indexed.customColor = customColor;
+		}
+		changed();
+	}
+
+	private static void removeFromPool(Object key, String id) {
+		LinkedHashMap<String, AbstractRelic> pool = pools.get(key);
+		if (pool == null || pool.remove(id) == null) {
+			return;
+		}
+		Indexed indexed = relics.get(id);
+		if (indexed != null && --indexed.pools <= 0) {
+			relics.remove(id);
+			LinkedHashMap<String, AbstractRelic> tier = tiers.get(indexed.relic.tier);
+			if (tier != null) {
+				tier.remove(id);
+			}
+		} else if (indexed != null && key == indexed.customColor) {
+			indexed.customColor = null;
+			for (Map.Entry<Object, LinkedHashMap<String, AbstractRelic>> e : pools.entrySet()) {
+				if (e.getKey() instanceof AbstractCard.CardColor && e.getValue().containsKey(id)) {
+					indexed.customColor = (AbstractCard.CardColor) e.getKey();
+				}
+			}
+		}
+		changed();
+	}
+
+	private static Collection<AbstractRelic> poolView(Object key) {
+		LinkedHashMap<String, AbstractRelic> pool = pools.get(key);
+		return pool == null ? Collections.emptyList() : Collections.unmodifiableCollection(pool.values());
+	}
+
+	private static void changed() {
+		++version;
+		ids = null;
+	}
+
+	private static class Indexed {
+		final AbstractRelic relic;
+		// how many pools it's in
+		int pools = 0;
+		AbstractCard.CardColor customColor = null;
+
+		Indexed(AbstractRelic relic) {
+			this.relic = relic;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package basemod.helpers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.megacrit.cardcrawl.helpers.ImageMaster;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared, reference counted textures keyed by path.
+ *
+ * Every acquire of a path returns the same Texture and adds a reference to it. The texture is
+ * disposed when the last reference is released, so a path that's in use is only ever loaded once
+ * and nothing that's released stays in GPU memory. Textures that are held for the whole game, like
+ * the ones in CustomCard.imgMap, are simply never released.
+ *
+ * Screens that load textures each time they're opened should acquire them through a {@link Scope}
+ * and release the scope when they're done with it. Only use from the GL thread.
+ *
+ * Between {@link #beginPreload()} and {@link #finishPreload()}, {@link #preload(String)} queues an
+ * image to be decoded on a worker thread, so code that knows what it will need can get the decoding
+ * done in parallel. Decoded images are uploaded to the GPU on the GL thread, either when they're
+ * acquired or in batches once enough are waiting, which also bounds how many decoded images are
+ * kept in memory at a time.
+ */
+public class TextureCache {
+	private static final Logger logger = LogManager.getLogger(TextureCache.class.getName());
+
+	// Key: texture path
+	private static final HashMap<String, Entry> entries = new HashMap<>();
+	// Key: loaded texture
+	// Value: its path
+	private static final IdentityHashMap<Texture, String> paths = new IdentityHashMap<>();
+
+	// decoded images waiting for their upload beyond this are uploaded right away
+	private static final int MAX_PRELOADED = 64;
+
+	private static ExecutorService preloader = null;
+	// Key: texture path, in the order they were queued
+	private static final LinkedHashMap<String, Future<TextureData>> preloading = new LinkedHashMap<>();
+
+	private TextureCache() {}
+
+	// acquire - the texture at path, loading it if it isn't already. null if it can't be loaded
+	public static Texture acquire(String path) {
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			Future<TextureData> preloaded = preloading.remove(path);
+			if (preloaded != null) {
+				entry = upload(path, preloaded);
+			}
+		}
+		if (entry == null) {
+			Texture texture = ImageMaster.loadImage(path);
+			if (texture == null) {
+				return null;
+			}
+			entry = new Entry(texture);
+			entries.put(path, entry);
+			paths.put(texture, path);
+		}
+		++entry.refs;
+		return entry.texture;
+	}
+
+	// release - drop a reference taken by acquire, disposing the texture if it was the last one
+	public static void release(String path) {
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			logger.warn("Released texture that isn't loaded: " + path);
+			return;
+		}
+		if (--entry.refs <= 0) {
+			entries.remove(path);
+			paths.remove(entry.texture);
+			entry.texture.dispose();
+		}
+	}
+
+	// release - same as release(path) for a texture returned by acquire
+	public static void release(Texture texture) {
+		String path = paths.get(texture);
+		if (path == null) {
+			logger.warn("Released texture that isn't managed by TextureCache");
+			return;
+		}
+		release(path);
+	}
+
+	// releaseOrDispose - for code that owns a texture that may or may not have come from the cache
+	public static void releaseOrDispose(Texture texture) {
+		if (texture == null) {
+			return;
+		}
+		if (isManaged(texture)) {
+			release(texture);
+		} else {
+			texture.dispose();
+		}
+	}
+
+	public static boolean isManaged(Texture texture) {
+		return paths.containsKey(texture);
+	}
+
+	// the loaded texture at path without adding a reference, or null if it isn't loaded
+	public static Texture get(String path) {
+		Entry entry = entries.get(path);
+		return entry == null ? null : entry.texture;
+	}
+
+	public static int loadedCount() {
+		return entries.size();
+	}
+
+	// beginPreload - start decoding images passed to preload in the background
+	public static void beginPreload() {
+		if (preloader != null) {
+			return;
+		}
+		int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+		AtomicInteger threadCount = new AtomicInteger();
+		preloader = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "BaseMod texture preloader " + threadCount.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	public static boolean isPreloading() {
+		return preloader != null;
+	}
+
+	// preload - queue path to be decoded in the background. Does nothing outside of beginPreload/finishPreload
+	public static void preload(String path) {
+		if (preloader == null || path == null || entries.containsKey(path) || preloading.containsKey(path)) {
+			return;
+		}
+		FileHandle file = Gdx.files.internal(path);
+		preloading.put(path, preloader.submit(() -> {
+			TextureData data = TextureData.Factory.loadFromFile(file, null, false);
+			if (!data.isPrepared()) {
+				data.prepare();
+			}
+			return data;
+		}));
+
+		if (preloading.size() > MAX_PRELOADED) {
+			Iterator<Map.Entry<String, Future<TextureData>>> it = preloading.entrySet().iterator();
+			while (preloading.size() > MAX_PRELOADED / 2) {
+				Map.Entry<String, Future<TextureData>> oldest = it.next();
+				it.remove();
+				upload(oldest.getKey(), oldest.getValue());
+			}
+		}
+	}
+
+	// preloadPixmap - decode path into a Pixmap in the background, for callers that want the image data
+	// instead of a texture. null outside of beginPreload/finishPreload. The caller disposes the pixmap
+	public static Future<Pixmap> preloadPixmap(String path) {
+		if (preloader == null || path == null) {
+			return null;
+		}
+		FileHandle file = Gdx.files.internal(path);
+		return preloader.submit(() -> new Pixmap(file));
+	}
+
+	// finishPreload - stop preloading. Preloaded textures that nobody acquired are disposed
+	public static void finishPreload() {
+		if (preloader == null) {
+			return;
+		}
+		for (Future<TextureData> preloaded : preloading.values()) {
+			if (!preloaded.cancel(false)) {
+				try {
+					preloaded.get().consumePixmap().dispose();
+				} catch (Exception ignored) {
+				}
+			}
+		}
+		preloading.clear();
+		preloader.shutdownNow();
+		preloader = null;
+
+		Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next().getValue();
+			if (entry.refs <= 0) {
+				it.remove();
+				paths.remove(entry.texture);
+				entry.texture.dispose();
+			}
+		}
+	}
+
+	// uploads a preloaded image, the entry starts out without references. null if it failed to decode
+	private static Entry upload(String path, Future<TextureData> preloaded) {
+		TextureData data;
+		try {
+			data = preloaded.get();
+		} catch (ExecutionException e) {
+			// left to acquire, which loads it the usual way and reports the error
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		Texture texture = new Texture(data);
+		texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+		Entry entry = new Entry(texture);
+		entries.put(path, entry);
+		paths.put(texture, path);
+		return entry;
+	}
+
+	/**
+	 * A group of references that are released together, e.g. everything a screen acquired.
+	 */
+	public static class Scope {
+		private final ArrayList<String> acquired = new ArrayList<>();
+
+		public Texture acquire(String path) {
+			Texture texture = TextureCache.acquire(path);
+			if (texture != null) {
+				acquired.add(path);
+			}
+			return texture;
+		}
+
+		// acquireOnce - same as acquire, but takes no new reference if this scope already holds path
+		public Texture acquireOnce(String path) {
+			if (acquired.contains(path)) {
+				return TextureCache.get(path);
+			}
+			return acquire(path);
+		}
+
+		// drops every reference taken through this scope. The scope can be reused afterwards
+		public void release() {
+			for (String path : acquired) {
+				TextureCache.release(path);
+			}
+			acquired.clear();
+		}
+	}
+
+	private static class Entry {
+		final Texture texture;
+		int refs = 0;
+
+		Entry(Texture texture) {
+			this.texture = texture;
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
 import basemod.abstracts.AbstractCardModifier;
+import basemod.helpers.CardModifierList;
 import basemod.helpers.CardModifierManager;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -267,7 +268,9 @@ public class CardModifierPatches
             };
         }
         public static String calculateRawDescription(AbstractCard card, String rawDescription) {
-            return CardModifierManager.onCreateDescription(card, rawDescription);
+            String description = CardModifierManager.onCreateDescription(card, rawDescription);
+            ShrinkLongDescription.ShrinkInitializeDescription.descriptionBuilt(card, description);
+            return description;
         }
     }
 
@@ -399,7 +402,7 @@ public class CardModifierPatches
     )
     public static class CardModifierFields
     {
-        public static SpireField<ArrayList<AbstractCardModifier>> cardModifiers = new SpireField<>(ArrayList::new);
+        public static SpireField<ArrayList<AbstractCardModifier>> cardModifiers = new SpireField<>(CardModifierList::new);
     }
 
     @SpirePatch(
@@ -0,0 +1,165 @@
+package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
+
+import basemod.BaseMod;
+import basemod.abstracts.DynamicVariable;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.WeakHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed custom dynamic variable token from a card description, e.g. "!M!" or "!M!. ".
+ *
+ * The description renderers get their tokens from DescriptionLine's cached tokenized text, so
+ * the same token strings come back every frame. Parsing, variable lookup and text measuring are
+ * done once per distinct token and kept here, which keeps rendering free of per-frame allocation.
+ * Only used from the render thread.
+ */
+public class DynamicVariableToken
+{
+    private static final Logger logger = LogManager.getLogger(DynamicVariableToken.class.getName());
+
+    private static final Pattern PATTERN = Pattern.compile("!(.+)!(.*) ");
+    private static final Pattern CN_PATTERN = Pattern.compile("\\$(.+)\\$\\$");
+
+    private static final HashMap<String, DynamicVariableToken> tokens = new HashMap<>();
+    private static final HashMap<String, DynamicVariableToken> cnTokens = new HashMap<>();
+
+    private static final int MIN_CACHED_NUMBER = -99;
+    private static final int MAX_CACHED_NUMBER = 999;
+    private static final String[] numbers = new String[MAX_CACHED_NUMBER - MIN_CACHED_NUMBER + 1];
+
+    // Key: font, weak since FontHelper makes new fonts when the language changes
+    // Inner Key: text
+    // Value: width of text at a font scale of 1
+    private static final WeakHashMap<BitmapFont, HashMap<String, Float>> widths = new WeakHashMap<>();
+    // a font's widths are dropped and measured again past this many texts
+    private static final int MAX_WIDTHS_PER_FONT = 2048;
+    private static final GlyphLayout gl = new GlyphLayout();
+
+    public final String key;
+    public final String end;
+    // end followed by the space that separates it from the next word
+    public final String endWithSpace;
+
+    private DynamicVariable variable;
+    private boolean warned = false;
+
+    // CN only: the last markup string built, reused while value and color don't change
+    private int markupValue;
+    private int markupColor;
+    private String markup = null;
+
+    private DynamicVariableToken(String key, String end)
+    {
+        this.key = key;
+        this.end = end;
+        endWithSpace = end + " ";
+        variable = BaseMod.cardDynamicVariableMap.get(key);
+    }
+
+    // token as it appears in AbstractCard/SingleCardViewPopup renderDescription, e.g. "!M!" or "!M!. "
+    public static DynamicVariableToken get(String token)
+    {
+        DynamicVariableToken ret = tokens.get(token);
+        if (ret == null) {
+            String key = token;
+            String end = "";
+            Matcher matcher = PATTERN.matcher(token);
+            if (matcher.find()) {
+                key = matcher.group(1);
+                end = matcher.group(2);
+            }
+            ret = new DynamicVariableToken(key, end);
+            tokens.put(token, ret);
+        }
+        return ret;
+    }
+
+    // token as it appears in renderDescriptionCN, e.g. "$M$$"
+    public static DynamicVariableToken getCN(String token)
+    {
+        DynamicVariableToken ret = cnTokens.get(token);
+        if (ret == null) {
+            String key = token;
+            Matcher matcher = CN_PATTERN.matcher(token);
+            if (matcher.find()) {
+                key = matcher.group(1);
+            }
+            ret = new DynamicVariableToken(key, "");
+            cnTokens.put(token, ret);
+        }
+        return ret;
+    }
+
+    // null if no variable is registered for this key. Logs the first miss only.
+    public DynamicVariable getVariable()
+    {
+        if (variable == null) {
+            variable = BaseMod.cardDynamicVariableMap.get(key);
+            if (variable == null && !warned) {
+                logger.error("No dynamic card variable found for key \"" + key + "\"!");
+                warned = true;
+            }
+        }
+        return variable;
+    }
+
+    // "[#rrggbbaa]value[]" for the CN renderer
+    public String markup(int value, Color color)
+    {
+        int colorBits = Color.rgba8888(color);
+        if (markup == null || markupValue != value || markupColor != colorBits) {
+            markup = "[#" + color.toString() + "]" + value + "[]";
+            markupValue = value;
+            markupColor = colorBits;
+        }
+        return markup;
+    }
+
+    public static String numberString(int num)
+    {
+        if (num < MIN_CACHED_NUMBER || num > MAX_CACHED_NUMBER) {
+            return Integer.toString(num);
+        }
+        String ret = numbers[num - MIN_CACHED_NUMBER];
+        if (ret == null) {
+            ret = Integer.toString(num);
+            numbers[num - MIN_CACHED_NUMBER] = ret;
+        }
+        return ret;
+    }
+
+    // width of text in font at the font's current scale
+    public static float width(BitmapFont font, String text)
+    {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        float scale = font.getScaleX();
+        if (scale == 0) {
+            return 0;
+        }
+        HashMap<String, Float> fontWidths = widths.get(font);
+        if (fontWidths == null) {
+            fontWidths = new HashMap<>();
+            widths.put(font, fontWidths);
+        }
+        Float width = fontWidths.get(text);
+        if (width == null) {
+            gl.setText(font, text);
+            width = gl.width / scale;
+            if (fontWidths.size() >= MAX_WIDTHS_PER_FONT) {
+                fontWidths.clear();
+            }
+            fontWidths.put(text, width);
+        }
+        return width * scale;
+    }
+}
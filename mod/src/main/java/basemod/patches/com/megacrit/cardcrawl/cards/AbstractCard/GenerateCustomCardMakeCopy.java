@@ -0,0 +1,129 @@
+package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
+
+import basemod.abstracts.CustomCard;
+import basemod.patches.whatmod.PotionTips.SuperClassFilter;
+import com.evacipated.cardcrawl.modthespire.Loader;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.megacrit.cardcrawl.core.CardCrawlGame;
+import javassist.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.clapper.util.classutil.*;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Gives every CustomCard subclass that doesn't override makeCopy a generated
+// "return new X();" makeCopy, the same way CloneablePowersPatch does for powers,
+// so copying cards doesn't go through CustomCard's reflective fallback. Subclasses
+// that inherit a generated makeCopy fall back to the parent's makeCopy instead.
+// What class/method we put here doesn't matter
+@SpirePatch(
+		clz=CardCrawlGame.class,
+		method=SpirePatch.CONSTRUCTOR
+)
+public class GenerateCustomCardMakeCopy
+{
+	private static final Logger logger = LogManager.getLogger(GenerateCustomCardMakeCopy.class.getName());
+
+	public static void Raw(CtBehavior ctBehavior) throws NotFoundException
+	{
+		ClassFinder finder = new ClassFinder();
+		finder.add(
+				Arrays.stream(Loader.MODINFOS)
+						.map(modInfo -> modInfo.jarURL)
+						.filter(Objects::nonNull)
+						.map(url -> {
+							try {
+								return url.toURI();
+							} catch (URISyntaxException e) {
+								return null;
+							}
+						})
+						.filter(Objects::nonNull)
+						.map(File::new)
+						.collect(Collectors.toList())
+		);
+
+		ClassPool pool = ctBehavior.getDeclaringClass().getClassPool();
+		CtClass ctCustomCard = pool.get(CustomCard.class.getName());
+		CtClass ctAbstractCard = pool.get(AbstractCard.class.getName());
+
+		ClassFilter filter =
+				new AndClassFilter(
+						new NotClassFilter(new InterfaceOnlyClassFilter()),
+						new NotClassFilter(new AbstractClassFilter()),
+						new ClassModifiersClassFilter(Modifier.PUBLIC),
+						new SuperClassFilter(pool, CustomCard.class)
+				);
+		List<ClassInfo> foundClasses = new ArrayList<>();
+		finder.findClasses(foundClasses, filter);
+
+		// decide every class before generating anything, a generated makeCopy would otherwise
+		// look like an override to the subclasses checked after it
+		List<CtClass> eligible = new ArrayList<>();
+		for (ClassInfo classInfo : foundClasses) {
+			try {
+				CtClass ctClass = pool.get(classInfo.getClassName());
+				if (inheritsDefaultMakeCopy(ctClass, ctCustomCard) && hasPublicNoArgConstructor(ctClass)) {
+					eligible.add(ctClass);
+				}
+			} catch (NotFoundException e) {
+				logger.warn("Could not generate makeCopy for " + classInfo.getClassName() + ": " + e);
+			}
+		}
+
+		int generated = 0;
+		for (CtClass ctClass : eligible) {
+			try {
+				CtMethod method = CtNewMethod.make(
+						ctAbstractCard, // Return
+						"makeCopy", // Method name
+						new CtClass[]{},
+						null, // Exceptions
+						// subclasses that didn't get their own (not public, no public no-arg constructor)
+						// inherit this one and have to keep getting a copy of their own type
+						"{ if (getClass() != " + ctClass.getName() + ".class) { return super.makeCopy(); }"
+								+ " return new " + ctClass.getName() + "(); }",
+						ctClass
+				);
+				ctClass.addMethod(method);
+				++generated;
+			} catch (CannotCompileException e) {
+				logger.warn("Could not generate makeCopy for " + ctClass.getName() + ": " + e);
+			}
+		}
+		logger.info("Generated makeCopy for " + generated + " custom cards");
+	}
+
+	// true if the closest makeCopy() up the hierarchy is CustomCard's
+	private static boolean inheritsDefaultMakeCopy(CtClass ctClass, CtClass ctCustomCard) throws NotFoundException
+	{
+		while (ctClass != null && !ctClass.equals(ctCustomCard)) {
+			try {
+				ctClass.getDeclaredMethod("makeCopy", new CtClass[]{});
+				return false;
+			} catch (NotFoundException ignored) {
+			}
+			ctClass = ctClass.getSuperclass();
+		}
+		return true;
+	}
+
+	private static boolean hasPublicNoArgConstructor(CtClass ctClass)
+	{
+		try {
+			CtConstructor ctor = ctClass.getDeclaredConstructor(new CtClass[]{});
+			return javassist.Modifier.isPublic(ctor.getModifiers());
+		} catch (NotFoundException e) {
+			return false;
+		}
+	}
+}
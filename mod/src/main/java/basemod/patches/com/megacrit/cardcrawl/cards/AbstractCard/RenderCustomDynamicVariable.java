@@ -1,10 +1,9 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
-import basemod.BaseMod;
+import basemod.ReflectionHacks;
 import basemod.abstracts.DynamicVariable;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
@@ -14,12 +13,6 @@ import javassist.CannotCompileException;
 import javassist.CtBehavior;
 import javassist.expr.ExprEditor;
 import javassist.expr.MethodCall;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-import java.lang.reflect.Field;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @SpirePatch(
         clz=AbstractCard.class,
@@ -53,36 +46,21 @@ public class RenderCustomDynamicVariable
 
     public static class Inner
     {
-        private static Logger logger = LogManager.getLogger();
-        private static final GlyphLayout gl = new GlyphLayout();
+        private static final ReflectionHacks.RField textColorField = ReflectionHacks.privateField(AbstractCard.class, "textColor");
+        private static final Color color = new Color();
 
         public static float myRenderDynamicVariable(Object __obj_instance, String key, char ckey, float start_x, float draw_y, int i, BitmapFont font, SpriteBatch sb, Character cend)
         {
             AbstractCard __instance = (AbstractCard) __obj_instance;
             // Get any private variables we need
-            Color textColor = Settings.CREAM_COLOR;
-            try {
-                Field f = AbstractCard.class.getDeclaredField("textColor");
-                f.setAccessible(true);
-                textColor = (Color) f.get(__instance);
-            } catch (IllegalAccessException | NoSuchFieldException e) {
-                e.printStackTrace();
-            }
+            Color textColor = textColorField.get(__instance);
 
-            String end = "";
-
-            Pattern pattern = Pattern.compile("!(.+)!(.*) ");
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find()) {
-                key = matcher.group(1);
-                end = matcher.group(2);
-            }
+            DynamicVariableToken token = DynamicVariableToken.get(key);
 
             // Main body of method
-            StringBuilder stringBuilder = new StringBuilder();
             Color c;
             int num = 0;
-            DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+            DynamicVariable dv = token.getVariable();
             if (dv != null) {
                 if (dv.isModified(__instance)) {
                     num = dv.value(__instance);
@@ -96,30 +74,26 @@ public class RenderCustomDynamicVariable
                     num = dv.baseValue(__instance);
                 }
             } else {
-                logger.error("No dynamic card variable found for key \"" + key + "\"!");
                 c = textColor;
             }
-            c = c.cpy();
-            c.a = textColor.a;
+            color.set(c);
+            color.a = textColor.a;
 
-            stringBuilder.append(num);
-            gl.setText(font, stringBuilder.toString());
-            FontHelper.renderRotatedText(sb, font, stringBuilder.toString(),
+            String text = DynamicVariableToken.numberString(num);
+            float width = DynamicVariableToken.width(font, text);
+            FontHelper.renderRotatedText(sb, font, text,
                     __instance.current_x, __instance.current_y,
-                    start_x - __instance.current_x + gl.width / 2.0f,
+                    start_x - __instance.current_x + width / 2.0f,
                     i * 1.45f * -font.getCapHeight() + draw_y - __instance.current_y + -6.0f,
-                    __instance.angle, true, c);
-            if (!end.isEmpty()) {
-                FontHelper.renderRotatedText(sb, font, end,
+                    __instance.angle, true, color);
+            if (!token.end.isEmpty()) {
+                FontHelper.renderRotatedText(sb, font, token.end,
                         __instance.current_x, __instance.current_y,
-                        start_x - __instance.current_x + gl.width + 4.0f * Settings.scale,
+                        start_x - __instance.current_x + width + 4.0f * Settings.scale,
                         i * 1.45f * -font.getCapHeight() + draw_y - __instance.current_y + -6.0f,
                         0.0f, true, textColor);
-                stringBuilder.append(end);
             }
-            stringBuilder.append(' ');
-            gl.setText(font, stringBuilder.toString());
-            return gl.width;
+            return width + DynamicVariableToken.width(font, token.endWithSpace);
         }
     }
 }
@@ -1,6 +1,5 @@
 package basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard;
 
-import basemod.BaseMod;
 import basemod.abstracts.DynamicVariable;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.*;
@@ -9,8 +8,6 @@ import com.megacrit.cardcrawl.cards.AbstractCard;
 import javassist.CannotCompileException;
 import javassist.CtBehavior;
 
-import java.util.regex.Pattern;
-
 @SpirePatch(
 		clz=AbstractCard.class,
 		method="renderDescriptionCN"
@@ -24,24 +21,18 @@ public class RenderCustomDynamicVariableCN
 	public static void Insert(AbstractCard __instance, SpriteBatch sb, @ByRef String[] tmp)
 	{
 		if (tmp[0].startsWith("$")) {
-			String key = tmp[0];
-
-			Pattern pattern = Pattern.compile("\\$(.+)\\$\\$");
-			java.util.regex.Matcher matcher = pattern.matcher(key);
-			if (matcher.find()) {
-				key = matcher.group(1);
-			}
-
-			DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+			DynamicVariableToken token = DynamicVariableToken.getCN(tmp[0]);
+			DynamicVariable dv = token.getVariable();
 			if (dv != null) {
 				if (dv.isModified(__instance)) {
-					if (dv.value(__instance) >= dv.baseValue(__instance)) {
-						tmp[0] = "[#" + dv.getIncreasedValueColor().toString() + "]" + Integer.toString(dv.value(__instance)) + "[]";
+					int value = dv.value(__instance);
+					if (value >= dv.baseValue(__instance)) {
+						tmp[0] = token.markup(value, dv.getIncreasedValueColor());
 					} else {
-						tmp[0] = "[#" + dv.getDecreasedValueColor().toString() + "]" + Integer.toString(dv.value(__instance)) + "[]";
+						tmp[0] = token.markup(value, dv.getDecreasedValueColor());
 					}
 				} else {
-					tmp[0] = Integer.toString(dv.baseValue(__instance));
+					tmp[0] = DynamicVariableToken.numberString(dv.baseValue(__instance));
 				}
 			}
 		}
@@ -10,7 +10,9 @@ import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.helpers.FontHelper;
 import javassist.CtBehavior;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class ShrinkLongDescription
@@ -22,6 +24,8 @@ public class ShrinkLongDescription
 	public static class Scale
 	{
 		public static SpireField<Float> descriptionScale = new SpireField<>(() -> 1.0f);
+		// initializeDescription call in progress on the card, null until the first one
+		public static SpireField<ShrinkInitializeDescription.State> state = new SpireField<>(() -> null);
 	}
 
 	@SpirePatch(
@@ -54,33 +58,143 @@ public class ShrinkLongDescription
 	{
 		private static final float TARGET_HEIGHT = 95.0f * Settings.scale;
 		private static final int MAX_DEPTH = 10;
-		private static int depth = 0;
+		private static final float STEP = 0.05f;
+		private static final int CACHE_SIZE = 4096;
+		private static final GlyphLayout gl = new GlyphLayout();
+
+		// Key: language + description text after card modifiers
+		// Value: number of shrink steps that description needs
+		private static final Map<String, Integer> stepCache = new LinkedHashMap<String, Integer>(256, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest)
+			{
+				return size() > CACHE_SIZE;
+			}
+		};
+
+		public static class State
+		{
+			// language + description text after card modifiers, null until initializeDescription reads it
+			String key = null;
+			boolean usingCachedStep = false;
+			// > 0 while the shrink search lays the description out again
+			int depth = 0;
+		}
 
 		public static void Prefix(AbstractCard __instance)
 		{
-			if (depth == 0) {
+			State state = getState(__instance);
+			if (state.depth == 0) {
 				Scale.descriptionScale.set(__instance, 1.0f);
+				state.key = null;
+				state.usingCachedStep = false;
+			}
+		}
+
+		// descriptionBuilt - called with the description text initializeDescription is about to lay out,
+		// after card modifiers have changed it, so a known description starts at its cached scale
+		public static void descriptionBuilt(AbstractCard card, String description)
+		{
+			State state = getState(card);
+			if (state.depth > 0 || state.key != null || description == null) {
+				return;
+			}
+			state.key = Settings.language.name() + ':' + description;
+			Integer steps = stepCache.get(state.key);
+			state.usingCachedStep = steps != null;
+			if (state.usingCachedStep && steps > 0) {
+				setScale(card, steps);
 			}
 		}
 
 		public static void Postfix(AbstractCard __instance)
 		{
-			float descHeight = descriptionHeight(FontHelper.cardDescFont_N, __instance.description);
-			if (__instance.description.size() > 6 && descHeight > TARGET_HEIGHT && depth < MAX_DEPTH) {
-				++depth;
-				FontHelper.cardDescFont_N.getData().setScale(1 - depth * 0.05f);
-				Scale.descriptionScale.set(__instance, 1 - depth * 0.05f);
-				__instance.initializeDescription();
-				--depth;
+			State state = getState(__instance);
+			if (state.depth > 0) {
+				return;
+			}
+			if (state.usingCachedStep) {
+				state.usingCachedStep = false;
+				state.key = null;
+				FontHelper.cardDescFont_N.getData().setScale(1.0f);
+				return;
+			}
+
+			// Find the fewest shrink steps that fit, laying out O(log MAX_DEPTH) times instead of once per step
+			int steps = 0;
+			if (!fits(__instance)) {
+				steps = MAX_DEPTH;
+				int laidOut = 0;
+				int lo = 1;
+				int hi = MAX_DEPTH;
+				while (lo <= hi) {
+					int mid = (lo + hi) / 2;
+					layOut(__instance, state, mid);
+					laidOut = mid;
+					if (fitsAt(__instance, mid)) {
+						steps = mid;
+						hi = mid - 1;
+					} else {
+						lo = mid + 1;
+					}
+				}
+				if (laidOut != steps) {
+					layOut(__instance, state, steps);
+				}
+			}
+			if (state.key != null) {
+				stepCache.put(state.key, steps);
+				state.key = null;
+			}
+		}
+
+		private static State getState(AbstractCard card)
+		{
+			State state = Scale.state.get(card);
+			if (state == null) {
+				state = new State();
+				Scale.state.set(card, state);
+			}
+			return state;
+		}
+
+		private static void setScale(AbstractCard card, int steps)
+		{
+			FontHelper.cardDescFont_N.getData().setScale(1 - steps * STEP);
+			Scale.descriptionScale.set(card, 1 - steps * STEP);
+		}
+
+		private static void layOut(AbstractCard card, State state, int steps)
+		{
+			++state.depth;
+			try {
+				setScale(card, steps);
+				card.initializeDescription();
+			} finally {
+				--state.depth;
+				FontHelper.cardDescFont_N.getData().setScale(1.0f);
+			}
+		}
+
+		private static boolean fits(AbstractCard card)
+		{
+			return card.description.size() <= 6 || descriptionHeight(FontHelper.cardDescFont_N, card.description) <= TARGET_HEIGHT;
+		}
+
+		private static boolean fitsAt(AbstractCard card, int steps)
+		{
+			FontHelper.cardDescFont_N.getData().setScale(1 - steps * STEP);
+			try {
+				return fits(card);
+			} finally {
 				FontHelper.cardDescFont_N.getData().setScale(1.0f);
-			} else if (depth >= MAX_DEPTH) {
 			}
 		}
 
 		private static float descriptionHeight(BitmapFont font, List<DescriptionLine> description)
 		{
 			float height = 0;
-			GlyphLayout gl = new GlyphLayout();
 			for (int i=0; i<description.size(); ++i) {
 				gl.setText(font, description.get(i).getText());
 				height += gl.height;
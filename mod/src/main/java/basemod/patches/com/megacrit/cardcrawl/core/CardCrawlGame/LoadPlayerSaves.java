@@ -4,14 +4,17 @@ import basemod.BaseMod;
 import basemod.abstracts.CustomSavableRaw;
 import basemod.patches.com.megacrit.cardcrawl.saveAndContinue.SaveFile.ModSaves;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
-import com.megacrit.cardcrawl.cards.AbstractCard;
+import com.google.gson.JsonElement;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
-import com.megacrit.cardcrawl.potions.AbstractPotion;
-import com.megacrit.cardcrawl.relics.AbstractRelic;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 @SpirePatch(clz=CardCrawlGame.class, method="loadPlayerSave")
 public class LoadPlayerSaves
@@ -19,34 +22,16 @@ public class LoadPlayerSaves
     public static void Postfix(CardCrawlGame __instance, AbstractPlayer p)
     {
         // Cards
-        ModSaves.ArrayListOfJsonElement modCardSaves = ModSaves.modCardSaves.get(CardCrawlGame.saveFile);
-        int i = 0;
-        for (AbstractCard card : AbstractDungeon.player.masterDeck.group) {
-            if (card instanceof CustomSavableRaw) {
-                ((CustomSavableRaw)card).onLoadRaw(modCardSaves == null || i >= modCardSaves.size() ? null : modCardSaves.get(i));
-            }
-            i++;
-        }
+        load(AbstractDungeon.player.masterDeck.group, card -> card.cardID,
+            ModSaves.modCardEntries.get(CardCrawlGame.saveFile), ModSaves.modCardSaves.get(CardCrawlGame.saveFile));
 
         // Relics
-        ModSaves.ArrayListOfJsonElement modRelicSaves = ModSaves.modRelicSaves.get(CardCrawlGame.saveFile);
-        i = 0;
-        for (AbstractRelic relic : AbstractDungeon.player.relics) {
-            if (relic instanceof CustomSavableRaw) {
-                ((CustomSavableRaw)relic).onLoadRaw(modRelicSaves == null || i >= modRelicSaves.size() ? null : modRelicSaves.get(i));
-            }
-            i++;
-        }
+        load(AbstractDungeon.player.relics, relic -> relic.relicId,
+            ModSaves.modRelicEntries.get(CardCrawlGame.saveFile), ModSaves.modRelicSaves.get(CardCrawlGame.saveFile));
 
         // Potions
-        ModSaves.ArrayListOfJsonElement modPotionSaves = ModSaves.modPotionSaves.get(CardCrawlGame.saveFile);
-        i = 0;
-        for (AbstractPotion potion : AbstractDungeon.player.potions) {
-            if (potion instanceof CustomSavableRaw) {
-                ((CustomSavableRaw)potion).onLoadRaw(modPotionSaves == null || i >= modPotionSaves.size() ? null : modPotionSaves.get(i));
-            }
-            i++;
-        }
+        load(AbstractDungeon.player.potions, potion -> potion.ID,
+            ModSaves.modPotionEntries.get(CardCrawlGame.saveFile), ModSaves.modPotionSaves.get(CardCrawlGame.saveFile));
 
         // Custom save fields
         ModSaves.HashMapOfJsonElement modSaves = ModSaves.modSaves.get(CardCrawlGame.saveFile);
@@ -54,4 +39,58 @@ public class LoadPlayerSaves
             field.getValue().onLoadRaw(modSaves == null ? null : modSaves.get(field.getKey()));
         }
     }
+
+    // Calls onLoadRaw on every savable in items, in order. An entry is matched to the item with the same ID
+    // and the same occurrence of that ID among the savables, so the n-th saved X goes to the n-th loaded X
+    // however the items around it moved. Saves without entries have the older array with an element for
+    // every item, matched by position only
+    private static <T> void load(List<T> items, Function<T, String> getID,
+                                 ModSaves.ListOfSaveEntries entries, ModSaves.ArrayListOfJsonElement legacy)
+    {
+        JsonElement[] data = new JsonElement[items.size()];
+        if (entries != null) {
+            // Key: ID, Value: positions of the savables with that ID, in order
+            HashMap<String, List<Integer>> byID = new HashMap<>();
+            for (int i = 0; i < items.size(); ++i) {
+                T item = items.get(i);
+                if (item instanceof CustomSavableRaw) {
+                    byID.computeIfAbsent(getID.apply(item), k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            List<ModSaves.SaveEntry> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparingInt(entry -> entry.index));
+            HashMap<String, Integer> occurrences = new HashMap<>();
+            for (ModSaves.SaveEntry entry : sorted) {
+                int i = -1;
+                if (entry.id == null) {
+                    if (entry.index >= 0 && entry.index < items.size() && items.get(entry.index) instanceof CustomSavableRaw) {
+                        i = entry.index;
+                    }
+                } else {
+                    int occurrence = occurrences.merge(entry.id, 1, Integer::sum) - 1;
+                    List<Integer> positions = byID.get(entry.id);
+                    if (positions != null && occurrence < positions.size()) {
+                        i = positions.get(occurrence);
+                    }
+                }
+                if (i >= 0 && data[i] == null) {
+                    data[i] = entry.data;
+                } else {
+                    BaseMod.logger.warn("Saved data for " + entry.id + " doesn't match anything that was loaded");
+                }
+            }
+        } else if (legacy != null) {
+            for (int i = 0; i < data.length && i < legacy.size(); ++i) {
+                data[i] = legacy.get(i);
+            }
+        }
+
+        for (int i = 0; i < data.length; ++i) {
+            T item = items.get(i);
+            if (item instanceof CustomSavableRaw) {
+                ((CustomSavableRaw) item).onLoadRaw(data[i]);
+            }
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.core.CardCrawlGame;
 
 import basemod.BaseMod;
+import basemod.ReflectionHacks;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.*;
@@ -12,8 +13,6 @@ import javassist.CtBehavior;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.lang.reflect.Field;
-
 public class RenderHooks {
 
 	@SpirePatch(cls = "com.megacrit.cardcrawl.core.CardCrawlGame", method = "render")
@@ -43,19 +42,11 @@ public class RenderHooks {
 	public static class PreRenderHook {
 		public static final Logger logger = LogManager.getLogger(BaseMod.class.getName());
 		
-	    public static void Prefix(CardCrawlGame __instance) {
-	        Field cameraField;
-			try {
-				cameraField = CardCrawlGame.class.getDeclaredField("camera");
-		        cameraField.setAccessible(true);
-		        OrthographicCamera camera = (OrthographicCamera) cameraField.get(__instance);
-		        BaseMod.publishPreRender(camera);
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				logger.error("could not get camera for render hook ");
-				logger.error("error was: " + e.toString());
-				e.printStackTrace();
-			}
+		private static final ReflectionHacks.RField cameraField = ReflectionHacks.privateField(CardCrawlGame.class, "camera");
 
+	    public static void Prefix(CardCrawlGame __instance) {
+			OrthographicCamera camera = cameraField.get(__instance);
+			BaseMod.publishPreRender(camera);
 	    }
 	}
 
@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 
 import basemod.BaseMod;
+import basemod.helpers.TextureCache;
 import com.evacipated.cardcrawl.modthespire.lib.*;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
@@ -74,12 +75,8 @@ public class CustomBosses
 			BaseMod.BossInfo bossInfo = BaseMod.getBossInfo(key);
 			if (bossInfo != null) {
 				// Dispose old map icon
-				if (DungeonMap.boss != null) {
-					DungeonMap.boss.dispose();
-				}
-				if (DungeonMap.bossOutline != null) {
-					DungeonMap.bossOutline.dispose();
-				}
+				TextureCache.releaseOrDispose(DungeonMap.boss);
+				TextureCache.releaseOrDispose(DungeonMap.bossOutline);
 
 				AbstractDungeon.bossKey = key;
 				DungeonMap.boss = bossInfo.loadBossMap();
@@ -88,6 +85,13 @@ public class CustomBosses
 				logger.info("[BOSS] " + key);
 				return SpireReturn.Return(null);
 			}
+			// The base game disposes the old icon itself, a custom boss icon has to go back to the cache instead
+			if (TextureCache.isManaged(DungeonMap.boss) || TextureCache.isManaged(DungeonMap.bossOutline)) {
+				TextureCache.releaseOrDispose(DungeonMap.boss);
+				TextureCache.releaseOrDispose(DungeonMap.bossOutline);
+				DungeonMap.boss = null;
+				DungeonMap.bossOutline = null;
+			}
 			return SpireReturn.Continue();
 		}
 	}
@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 
 import basemod.BaseMod;
+import basemod.helpers.CardRegistry;
 import com.evacipated.cardcrawl.modthespire.lib.*;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
@@ -14,7 +15,6 @@ import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.helpers.CardLibrary;
 import com.megacrit.cardcrawl.helpers.ModHelper;
 import com.megacrit.cardcrawl.screens.custom.CustomMod;
-import com.megacrit.cardcrawl.unlock.UnlockTracker;
 import javassist.CtBehavior;
 
 import java.util.ArrayList;
@@ -65,13 +65,7 @@ public class InitializeCardPoolsSwitch {
 				 String ID = character.chosenClass.name() + charMod.name;
 				 if (AbstractPlayer.customMods.contains(ID)) {
 				 	BaseMod.logger.info("[INFO] Adding " + character.getLocalizedCharacterName() + " cards into card pool.");
-				 	AbstractCard.CardColor color = character.getCardColor();
-				 	for (AbstractCard c : CardLibrary.cards.values()) {
-				 		if (c.color == color && c.rarity != AbstractCard.CardRarity.BASIC &&
-								(!UnlockTracker.isCardLocked(c.cardID) || Settings.treatEverythingAsUnlocked())) {
-				 			tmpPool.add(c);
-						}
-					}
+				 	CardRegistry.addToPool(character.getCardColor(), tmpPool, Settings.treatEverythingAsUnlocked());
 				 }
 			}
 		}
@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.helpers.CardLibrary;
 
 import basemod.BaseMod;
+import basemod.helpers.CardRegistry;
 import com.evacipated.cardcrawl.modthespire.lib.*;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.AbstractCard.CardColor;
@@ -14,6 +15,11 @@ import javassist.CtBehavior;
 )
 public class AddSwitch
 {
+	public static void Prefix(AbstractCard card)
+	{
+		CardRegistry.invalidate();
+	}
+
 	@SpireInsertPatch(
 			locator=Locator.class
 	)
@@ -9,6 +9,7 @@ import javassist.CannotCompileException;
 import javassist.CtBehavior;
 
 import java.util.ArrayList;
+import java.util.Set;
 
 @SpirePatch(cls="com.megacrit.cardcrawl.helpers.CardLibrary", method="initialize")
 public class CustomCardsPatch {
@@ -16,19 +17,23 @@ public class CustomCardsPatch {
 			locator=Locator.class
 	)
 	public static void Insert() {
+		Set<AbstractCard.CardColor> colors = BaseMod.getCardChangeColors();
+		colors.removeIf(BaseMod::isBaseGameCardColor);
+
 		// add new cards
-		for (AbstractCard card : BaseMod.getCustomCardsToAdd()) {
-			CardLibrary.add(card);
+		for (AbstractCard.CardColor color : colors) {
+			for (AbstractCard card : BaseMod.getCardsToAdd(color)) {
+				CardLibrary.add(card);
+			}
 		}
-		
+
 		// remove old cards
-		ArrayList<String> cardIDs = BaseMod.getCustomCardsToRemove();
-		ArrayList<AbstractCard.CardColor> colors = BaseMod.getCustomCardsToRemoveColors();
-		for (int i = 0; i < cardIDs.size(); i++) {
-			String cardID = cardIDs.get(i);
-			CardLibrary.cards.remove(cardID);
-			BaseMod.decrementCardCount(colors.get(i));
-			CardLibrary.totalCardCount--;
+		for (AbstractCard.CardColor color : colors) {
+			for (String cardID : BaseMod.getCardsToRemove(color)) {
+				CardLibrary.cards.remove(cardID);
+				BaseMod.decrementCardCount(color);
+				CardLibrary.totalCardCount--;
+			}
 		}
 	}
 
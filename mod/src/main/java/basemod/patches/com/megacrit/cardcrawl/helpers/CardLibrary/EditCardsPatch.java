@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.helpers.CardLibrary;
 
 import basemod.BaseMod;
+import basemod.helpers.CardRegistry;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 
 @SpirePatch(cls="com.megacrit.cardcrawl.helpers.CardLibrary", method="initialize")
@@ -10,5 +11,9 @@ public class EditCardsPatch {
 		// have mods register their changes to the card list here
 		BaseMod.publishEditCards();
 	}
+
+	public static void Postfix() {
+		CardRegistry.rebuild();
+	}
 	
 }
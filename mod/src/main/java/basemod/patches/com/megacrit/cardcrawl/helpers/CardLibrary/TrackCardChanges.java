@@ -0,0 +1,18 @@
+package basemod.patches.com.megacrit.cardcrawl.helpers.CardLibrary;
+
+import basemod.helpers.CardRegistry;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+import com.megacrit.cardcrawl.helpers.CardLibrary;
+
+// Swaps in a map that counts its changes before anything can hold on to the original, see CardRegistry
+@SpirePatch(
+		clz=CardLibrary.class,
+		method=SpirePatch.STATICINITIALIZER
+)
+public class TrackCardChanges
+{
+	public static void Postfix()
+	{
+		CardLibrary.cards = new CardRegistry.TrackedCards(CardLibrary.cards);
+	}
+}
@@ -0,0 +1,71 @@
+package basemod.patches.com.megacrit.cardcrawl.helpers.RelicLibrary;
+
+import basemod.helpers.RelicRegistry;
+import basemod.helpers.RelicType;
+import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
+import com.megacrit.cardcrawl.helpers.RelicLibrary;
+import com.megacrit.cardcrawl.relics.AbstractRelic;
+
+// Keeps RelicRegistry up to date with everything added to RelicLibrary, base game relics included
+public class IndexRelics
+{
+	@SpirePatch(
+			clz=RelicLibrary.class,
+			method="add"
+	)
+	public static class Shared
+	{
+		public static void Postfix(AbstractRelic relic)
+		{
+			RelicRegistry.add(relic, RelicType.SHARED);
+		}
+	}
+
+	@SpirePatch(
+			clz=RelicLibrary.class,
+			method="addRed"
+	)
+	public static class Red
+	{
+		public static void Postfix(AbstractRelic relic)
+		{
+			RelicRegistry.add(relic, RelicType.RED);
+		}
+	}
+
+	@SpirePatch(
+			clz=RelicLibrary.class,
+			method="addGreen"
+	)
+	public static class Green
+	{
+		public static void Postfix(AbstractRelic relic)
+		{
+			RelicRegistry.add(relic, RelicType.GREEN);
+		}
+	}
+
+	@SpirePatch(
+			clz=RelicLibrary.class,
+			method="addBlue"
+	)
+	public static class Blue
+	{
+		public static void Postfix(AbstractRelic relic)
+		{
+			RelicRegistry.add(relic, RelicType.BLUE);
+		}
+	}
+
+	@SpirePatch(
+			clz=RelicLibrary.class,
+			method="addPurple"
+	)
+	public static class Purple
+	{
+		public static void Postfix(AbstractRelic relic)
+		{
+			RelicRegistry.add(relic, RelicType.PURPLE);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package basemod.patches.com.megacrit.cardcrawl.helpers.TipHelper;
 
+import basemod.ReflectionHacks;
 import basemod.abstracts.CustomCard;
 import basemod.helpers.TooltipInfo;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -13,8 +14,6 @@ import com.megacrit.cardcrawl.helpers.GameDictionary;
 import com.megacrit.cardcrawl.helpers.TipHelper;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,6 +27,10 @@ public class FakeKeywords
     private static float TIP_DESC_LINE_SPACING = 0;
     private static float BOX_EDGE_H = 0;
 
+    private static final ReflectionHacks.RField cardField = ReflectionHacks.privateField(TipHelper.class, "card");
+    private static final ReflectionHacks.RField textHeight = ReflectionHacks.privateField(TipHelper.class, "textHeight");
+    private static final ReflectionHacks.RMethod renderTipBox = ReflectionHacks.privateMethod(TipHelper.class, "renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
+
     public static void Prefix(float x, @ByRef float[] y, SpriteBatch sb, ArrayList<String> keywords, AbstractCard ___card)
     {
         if (BODY_TEXT_WIDTH == 0) {
@@ -98,8 +101,6 @@ public class FakeKeywords
                 List<TooltipInfo> tooltips = card.getCustomTooltipsTop();
                 if (tooltips != null) {
                     for (TooltipInfo tooltip : tooltips) {
-                        Field textHeight = TipHelper.class.getDeclaredField("textHeight");
-                        textHeight.setAccessible(true);
                         float h = -FontHelper.getSmartHeight(
                                 FontHelper.tipHeaderFont,
                                 TipHelper.capitalize(tooltip.title),
@@ -111,16 +112,14 @@ public class FakeKeywords
                                         BODY_TEXT_WIDTH,
                                         TIP_DESC_LINE_SPACING) - 7.0f * Settings.scale;
                         ;
-                        textHeight.set(null, h);
+                        textHeight.setter().invokeExact(h);
 
-                        Method renderTipBox = TipHelper.class.getDeclaredMethod("renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
-                        renderTipBox.setAccessible(true);
-                        renderTipBox.invoke(null, x, y[0], sb, tooltip.title, tooltip.description);
+                        renderTipBox.handle().invokeExact(x, y[0], sb, tooltip.title, tooltip.description);
                         y[0] -= h + BOX_EDGE_H * 3.15f;
                     }
                 }
             }
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | NoSuchFieldException e) {
+        } catch (Throwable e) {
             e.printStackTrace();
         }
     }
@@ -132,16 +131,12 @@ public class FakeKeywords
         }
 
         try {
-            Field cardField = TipHelper.class.getDeclaredField("card");
-            cardField.setAccessible(true);
-            AbstractCard acard = (AbstractCard)cardField.get(null);
+            AbstractCard acard = cardField.get(null);
             if (acard instanceof CustomCard) {
                 CustomCard card = (CustomCard)acard;
                 List<TooltipInfo> tooltips = card.getCustomTooltips();
                 if (tooltips != null) {
                     for (TooltipInfo tooltip : tooltips) {
-                        Field textHeight = TipHelper.class.getDeclaredField("textHeight");
-                        textHeight.setAccessible(true);
                         float h = -FontHelper.getSmartHeight(
                                 FontHelper.tipHeaderFont, 
                                 TipHelper.capitalize(tooltip.title), 
@@ -152,16 +147,14 @@ public class FakeKeywords
                                 tooltip.description,
                                 BODY_TEXT_WIDTH,
                                 TIP_DESC_LINE_SPACING) - 7.0f * Settings.scale;;
-                        textHeight.set(null, h);
+                        textHeight.setter().invokeExact(h);
 
-                        Method renderTipBox = TipHelper.class.getDeclaredMethod("renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
-                        renderTipBox.setAccessible(true);
-                        renderTipBox.invoke(null, x, y, sb, tooltip.title, tooltip.description);
+                        renderTipBox.handle().invokeExact(x, y, sb, tooltip.title, tooltip.description);
                         y -= h + BOX_EDGE_H * 3.15f;
                     }
                 }
             }
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | NoSuchFieldException e) {
+        } catch (Throwable e) {
             e.printStackTrace();
         }
     }
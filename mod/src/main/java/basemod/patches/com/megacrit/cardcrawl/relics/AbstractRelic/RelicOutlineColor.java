@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.relics.AbstractRelic;
 
 import basemod.BaseMod;
+import basemod.helpers.RelicRegistry;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.ByRef;
@@ -8,9 +9,6 @@ import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.relics.AbstractRelic;
 
-import java.util.HashMap;
-import java.util.Map;
-
 
 public class RelicOutlineColor
 {
@@ -27,10 +25,9 @@ public class RelicOutlineColor
 	{
 		public static void Prefix(AbstractRelic __instance, SpriteBatch sb, boolean renderAmount, @ByRef Color[] outlineColor)
 		{
-			for (Map.Entry<AbstractCard.CardColor, HashMap<String, AbstractRelic>> map : BaseMod.getAllCustomRelics().entrySet()) {
-				if (map.getValue().containsKey(__instance.relicId)) {
-					outlineColor[0] = BaseMod.getFrameOutlineColor(map.getKey());
-				}
+			AbstractCard.CardColor color = RelicRegistry.getCustomColor(__instance.relicId);
+			if (color != null) {
+				outlineColor[0] = BaseMod.getFrameOutlineColor(color);
 			}
 		}
 	}
@@ -47,10 +44,9 @@ public class RelicOutlineColor
 	{
 		public static void Prefix(AbstractRelic __instance, SpriteBatch sb, @ByRef Color[] outlineColor)
 		{
-			for (Map.Entry<AbstractCard.CardColor, HashMap<String, AbstractRelic>> map : BaseMod.getAllCustomRelics().entrySet()) {
-				if (map.getValue().containsKey(__instance.relicId)) {
-					outlineColor[0] = BaseMod.getFrameOutlineColor(map.getKey());
-				}
+			AbstractCard.CardColor color = RelicRegistry.getCustomColor(__instance.relicId);
+			if (color != null) {
+				outlineColor[0] = BaseMod.getFrameOutlineColor(color);
 			}
 		}
 	}
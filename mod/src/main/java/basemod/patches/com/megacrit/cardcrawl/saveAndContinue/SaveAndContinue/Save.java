@@ -10,7 +10,7 @@ import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.saveAndContinue.SaveAndContinue;
 import com.megacrit.cardcrawl.saveAndContinue.SaveFile;
 
-import basemod.patches.com.megacrit.cardcrawl.saveAndContinue.SaveFile.ModSaves;
+import basemod.patches.com.megacrit.cardcrawl.saveAndContinue.SaveFile.ConstructSaveFilePatch;
 import javassist.CtBehavior;
 
 @SpirePatch(clz=SaveAndContinue.class, method="save", paramtypez={SaveFile.class})
@@ -21,10 +21,7 @@ public class Save
             localvars={"params"}
     )
     public static void Insert(SaveFile save, HashMap<String, Object> params) {
-        params.put("basemod:mod_saves", ModSaves.modSaves.get(save));
-        params.put("basemod:mod_card_saves", ModSaves.modCardSaves.get(save));
-        params.put("basemod:mod_relic_saves", ModSaves.modRelicSaves.get(save));
-        params.put("basemod:mod_potion_saves", ModSaves.modPotionSaves.get(save));
+        ConstructSaveFilePatch.putModSaves(save, params);
     }
 
     private static class Locator extends SpireInsertLocator
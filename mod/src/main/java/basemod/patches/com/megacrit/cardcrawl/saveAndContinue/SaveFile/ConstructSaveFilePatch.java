@@ -1,58 +1,39 @@
 package basemod.patches.com.megacrit.cardcrawl.saveAndContinue.SaveFile;
 
 import basemod.BaseMod;
-import basemod.abstracts.CustomSavableRaw;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
-import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
-import com.megacrit.cardcrawl.potions.AbstractPotion;
-import com.megacrit.cardcrawl.relics.AbstractRelic;
 import com.megacrit.cardcrawl.saveAndContinue.SaveFile;
 
 import java.util.Map;
+import java.util.WeakHashMap;
 
 @SpirePatch(clz=SaveFile.class, method=SpirePatch.CONSTRUCTOR, paramtypez={SaveFile.SaveType.class})
 public class ConstructSaveFilePatch
 {
-    public static void Prefix(SaveFile __instance, SaveFile.SaveType saveType) {
-        // Card saves
-        ModSaves.ArrayListOfJsonElement modCardSaves = new ModSaves.ArrayListOfJsonElement();
-        for (AbstractCard card : AbstractDungeon.player.masterDeck.group) {
-            if (card instanceof CustomSavableRaw) {
-                modCardSaves.add(((CustomSavableRaw)card).onSaveRaw());
-            } else {
-                modCardSaves.add(null);
-            }
-        }
-        ModSaves.modCardSaves.set(__instance, modCardSaves);
-
-        // Relic saves
-        ModSaves.ArrayListOfJsonElement modRelicSaves = new ModSaves.ArrayListOfJsonElement();
-        for (AbstractRelic relic : AbstractDungeon.player.relics) {
-            if (relic instanceof CustomSavableRaw) {
-                modRelicSaves.add(((CustomSavableRaw)relic).onSaveRaw());
-            } else {
-                modRelicSaves.add(null);
-            }
-        }
-        ModSaves.modRelicSaves.set(__instance, modRelicSaves);
+    // Key: a save constructed for SaveAndContinue.save
+    // Value: the cards, relics, potions and save fields to write with it, see StreamedModSaves
+    private static final WeakHashMap<SaveFile, StreamedModSaves[]> modSaves = new WeakHashMap<>();
 
-        // Potion saves
-        ModSaves.ArrayListOfJsonElement modPotionSaves = new ModSaves.ArrayListOfJsonElement();
-        for (AbstractPotion potion : AbstractDungeon.player.potions) {
-            if (potion instanceof CustomSavableRaw) {
-                modPotionSaves.add(((CustomSavableRaw)potion).onSaveRaw());
-            } else {
-                modPotionSaves.add(null);
-            }
-        }
-        ModSaves.modPotionSaves.set(__instance, modPotionSaves);
+    public static void Prefix(SaveFile __instance, SaveFile.SaveType saveType) {
+        // Only the lists are copied here, onSave is called while SaveAndContinue.save writes the file
+        modSaves.put(__instance, new StreamedModSaves[] {
+            StreamedModSaves.ofFields(BaseMod.getSaveFields()),
+            StreamedModSaves.ofEntries(AbstractDungeon.player.masterDeck.group, card -> card.cardID),
+            StreamedModSaves.ofEntries(AbstractDungeon.player.relics, relic -> relic.relicId),
+            StreamedModSaves.ofEntries(AbstractDungeon.player.potions, potion -> potion.ID),
+        });
+    }
 
-        // Mod saves
-        ModSaves.HashMapOfJsonElement modSaves = new ModSaves.HashMapOfJsonElement();
-        for (Map.Entry<String, CustomSavableRaw> field : BaseMod.getSaveFields().entrySet()) {
-            modSaves.put(field.getKey(), field.getValue().onSaveRaw());
+    // putModSaves - adds the mod data of save to the params SaveAndContinue.save serializes
+    public static void putModSaves(SaveFile save, Map<String, Object> params) {
+        StreamedModSaves[] saves = modSaves.remove(save);
+        if (saves == null) {
+            return;
         }
-        ModSaves.modSaves.set(__instance, modSaves);
+        params.put("basemod:mod_saves", saves[0]);
+        params.put("basemod:mod_card_entries", saves[1]);
+        params.put("basemod:mod_relic_entries", saves[2]);
+        params.put("basemod:mod_potion_entries", saves[3]);
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,19 @@ public class ModSaves
     // this causes gson to not know how to deserialize the elements
     public static class ArrayListOfJsonElement extends ArrayList<JsonElement> {}
     public static class HashMapOfJsonElement extends HashMap<String,JsonElement> {}
+    public static class ListOfSaveEntries extends ArrayList<SaveEntry> {}
+
+    // The data of one savable card, relic or potion: its position in the deck/relics/potions when it
+    // was saved and its ID, so it can still be found if that position no longer holds it
+    public static class SaveEntry
+    {
+        public int index;
+        public String id;
+        public JsonElement data;
+    }
+
+    // These are filled when a save is loaded. Saves being written get their mod data from
+    // ConstructSaveFilePatch instead, see StreamedModSaves
 
     @SerializedName("basemod:mod_saves")
     public static SpireField<HashMapOfJsonElement> modSaves = new SpireField<>(() -> null);
@@ -25,4 +38,13 @@ public class ModSaves
     public static SpireField<ArrayListOfJsonElement> modRelicSaves = new SpireField<>(() -> null);
     @SerializedName("basemod:mod_potion_saves")
     public static SpireField<ArrayListOfJsonElement> modPotionSaves = new SpireField<>(() -> null);
+
+    // Only the savable entries, replacing the arrays above which have an element for everything
+    // (null if it isn't savable). The arrays are still read from saves that don't have these
+    @SerializedName("basemod:mod_card_entries")
+    public static SpireField<ListOfSaveEntries> modCardEntries = new SpireField<>(() -> null);
+    @SerializedName("basemod:mod_relic_entries")
+    public static SpireField<ListOfSaveEntries> modRelicEntries = new SpireField<>(() -> null);
+    @SerializedName("basemod:mod_potion_entries")
+    public static SpireField<ListOfSaveEntries> modPotionEntries = new SpireField<>(() -> null);
 }
@@ -0,0 +1,160 @@
+package basemod.patches.com.megacrit.cardcrawl.saveAndContinue.SaveFile;
+
+import basemod.abstracts.CustomSavable;
+import basemod.abstracts.CustomSavableRaw;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Mod data of a save that is written straight into the game's save JSON.
+ *
+ * SaveAndContinue.save serializes its params map with Gson. Save puts one of these in the map for each
+ * of the basemod: entries and Gson hands the adapter its JsonWriter, so the values from onSave() are
+ * written as the save is, without building a JsonElement tree for every card, relic and potion first.
+ * The output is the same as serializing ModSaves' fields with the JsonElements from onSaveRaw(), which is
+ * what LoadPlayerSaves reads back.
+ *
+ * Reading one gives an instance holding the parsed JSON (see {@link #getJson()}), which is written back
+ * out unchanged.
+ */
+@JsonAdapter(StreamedModSaves.Adapter.class)
+public class StreamedModSaves
+{
+    // Key: savable class
+    // Value: whether it replaces CustomSavable's onSaveRaw
+    private static final ConcurrentHashMap<Class<?>, Boolean> overridesOnSaveRaw = new ConcurrentHashMap<>();
+
+    // written as an array of ModSaves.SaveEntry, for the CustomSavableRaws among them
+    private final List<?> items;
+    private final List<String> ids;
+    // written as an object
+    private final Map<String, CustomSavableRaw> fields;
+    // set instead of the above when read from JSON
+    private final JsonElement json;
+
+    private StreamedModSaves(List<?> items, List<String> ids, Map<String, CustomSavableRaw> fields)
+    {
+        this.items = items;
+        this.ids = ids;
+        this.fields = fields;
+        this.json = null;
+    }
+
+    private StreamedModSaves(JsonElement json)
+    {
+        this.items = null;
+        this.ids = null;
+        this.fields = null;
+        this.json = json;
+    }
+
+    public static <T> StreamedModSaves ofEntries(Collection<T> items, Function<T, String> getID)
+    {
+        ArrayList<T> copy = new ArrayList<>(items);
+        ArrayList<String> ids = new ArrayList<>(copy.size());
+        for (T item : copy) {
+            ids.add(item instanceof CustomSavableRaw ? getID.apply(item) : null);
+        }
+        return new StreamedModSaves(copy, ids, null);
+    }
+
+    public static StreamedModSaves ofFields(Map<String, CustomSavableRaw> fields)
+    {
+        return new StreamedModSaves(null, null, new LinkedHashMap<>(fields));
+    }
+
+    // the JSON this was read from, null if it was made to be written
+    public JsonElement getJson()
+    {
+        return json;
+    }
+
+    public static class Adapter extends TypeAdapter<StreamedModSaves>
+    {
+        @Override
+        public void write(JsonWriter out, StreamedModSaves value) throws IOException
+        {
+            if (value == null) {
+                out.nullValue();
+            } else if (value.fields == null && value.items == null) {
+                CustomSavable.saveFileGson.toJson(value.json == null ? JsonNull.INSTANCE : value.json, out);
+            } else if (value.items != null) {
+                out.beginArray();
+                for (int i = 0; i < value.items.size(); ++i) {
+                    Object item = value.items.get(i);
+                    if (item instanceof CustomSavableRaw) {
+                        out.beginObject();
+                        out.name("index").value(i);
+                        out.name("id").value(value.ids.get(i));
+                        out.name("data");
+                        writeSavable(out, (CustomSavableRaw) item);
+                        out.endObject();
+                    }
+                }
+                out.endArray();
+            } else {
+                out.beginObject();
+                for (Map.Entry<String, CustomSavableRaw> field : value.fields.entrySet()) {
+                    out.name(field.getKey());
+                    writeSavable(out, field.getValue());
+                }
+                out.endObject();
+            }
+        }
+
+        @Override
+        public StreamedModSaves read(JsonReader in) throws IOException
+        {
+            // BaseMod reads saves back into ModSaves' fields, this is for anything else deserializing the params
+            return new StreamedModSaves(CustomSavable.saveFileGson.getAdapter(JsonElement.class).read(in));
+        }
+    }
+
+    private static void writeSavable(JsonWriter out, CustomSavableRaw savable) throws IOException
+    {
+        if (savable == null) {
+            out.nullValue();
+            return;
+        }
+        if (!(savable instanceof CustomSavable) || overridesOnSaveRaw(savable.getClass())) {
+            JsonElement json = savable.onSaveRaw();
+            CustomSavable.saveFileGson.toJson(json == null ? JsonNull.INSTANCE : json, out);
+            return;
+        }
+
+        Object value = ((CustomSavable<?>) savable).onSave();
+        if (value == null) {
+            out.nullValue();
+        } else {
+            CustomSavable.saveFileGson.toJson(value, value.getClass(), out);
+        }
+    }
+
+    private static boolean overridesOnSaveRaw(Class<?> cls)
+    {
+        Boolean ret = overridesOnSaveRaw.get(cls);
+        if (ret == null) {
+            try {
+                ret = cls.getMethod("onSaveRaw").getDeclaringClass() != CustomSavable.class;
+            } catch (NoSuchMethodException | SecurityException e) {
+                // when in doubt, let it build its own JSON
+                ret = true;
+            }
+            overridesOnSaveRaw.put(cls, ret);
+        }
+        return ret;
+    }
+}
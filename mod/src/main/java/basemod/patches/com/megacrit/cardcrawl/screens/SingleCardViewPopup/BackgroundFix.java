@@ -1,6 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
 import basemod.BaseMod;
+import basemod.ReflectionHacks;
 import basemod.abstracts.CustomCard;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -15,8 +16,6 @@ import javassist.CtBehavior;
 import javassist.expr.ExprEditor;
 import javassist.expr.FieldAccess;
 
-import java.lang.reflect.Field;
-
 public class BackgroundFix
 {
 	@SpirePatch(
@@ -25,82 +24,77 @@ public class BackgroundFix
 	)
 	public static class BackgroundTexture
 	{
+		private static final ReflectionHacks.RField cardField = ReflectionHacks.privateField(SingleCardViewPopup.class, "card");
+
 		public static void Prefix(Object __obj_instance, Object sbObject)
 		{
-			try {
-				SingleCardViewPopup popup = (SingleCardViewPopup) __obj_instance;
-				SpriteBatch sb = (SpriteBatch) sbObject;
-				Field cardField;
-				cardField = popup.getClass().getDeclaredField("card");
-				cardField.setAccessible(true);
-				AbstractCard card = (AbstractCard) cardField.get(popup);
-				AbstractCard.CardColor color = card.color;
-				if (!BaseMod.isBaseGameCardColor(color)) {
-					switch (card.type) {
-						case ATTACK: {
-							Texture bgTexture = null;
-							if (card instanceof CustomCard) {
-								bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
-							}
+			SingleCardViewPopup popup = (SingleCardViewPopup) __obj_instance;
+			SpriteBatch sb = (SpriteBatch) sbObject;
+			AbstractCard card = cardField.get(popup);
+			AbstractCard.CardColor color = card.color;
+			if (!BaseMod.isBaseGameCardColor(color)) {
+				switch (card.type) {
+					case ATTACK: {
+						Texture bgTexture = null;
+						if (card instanceof CustomCard) {
+							bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
+						}
+						if (bgTexture == null) {
+							bgTexture = BaseMod.getAttackBgPortraitTexture(color);
 							if (bgTexture == null) {
-								bgTexture = BaseMod.getAttackBgPortraitTexture(color);
-								if (bgTexture == null) {
-									bgTexture = ImageMaster.loadImage(BaseMod.getAttackBgPortrait(color));
-									BaseMod.saveAttackBgPortraitTexture(color, bgTexture);
-								}
+								bgTexture = ImageMaster.loadImage(BaseMod.getAttackBgPortrait(color));
+								BaseMod.saveAttackBgPortraitTexture(color, bgTexture);
 							}
-							sb.draw(bgTexture, Settings.WIDTH / 2.0F - 512.0F, Settings.HEIGHT / 2.0F - 512.0F, 512.0F, 512.0F, 1024.0F, 1024.0F, Settings.scale, Settings.scale, 0.0F, 0, 0, 1024, 1024, false, false);
 						}
-						break;
-						case POWER: {
-							Texture bgTexture = null;
-							if (card instanceof CustomCard) {
-								bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
-							}
+						sb.draw(bgTexture, Settings.WIDTH / 2.0F - 512.0F, Settings.HEIGHT / 2.0F - 512.0F, 512.0F, 512.0F, 1024.0F, 1024.0F, Settings.scale, Settings.scale, 0.0F, 0, 0, 1024, 1024, false, false);
+					}
+					break;
+					case POWER: {
+						Texture bgTexture = null;
+						if (card instanceof CustomCard) {
+							bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
+						}
+						if (bgTexture == null) {
+							bgTexture = BaseMod.getPowerBgPortraitTexture(color);
 							if (bgTexture == null) {
-								bgTexture = BaseMod.getPowerBgPortraitTexture(color);
-								if (bgTexture == null) {
-									bgTexture = ImageMaster.loadImage(BaseMod.getPowerBgPortrait(color));
-									BaseMod.savePowerBgPortraitTexture(color, bgTexture);
-								}
+								bgTexture = ImageMaster.loadImage(BaseMod.getPowerBgPortrait(color));
+								BaseMod.savePowerBgPortraitTexture(color, bgTexture);
 							}
-							sb.draw(bgTexture,
-									Settings.WIDTH / 2.0F - 512.0F,
-									Settings.HEIGHT / 2.0F - 512.0F,
-									512.0F,
-									512.0F,
-									1024.0F,
-									1024.0F,
-									Settings.scale,
-									Settings.scale,
-									0.0F,
-									0,
-									0,
-									1024,
-									1024,
-									false,
-									false);
 						}
-						break;
-						default: {
-							Texture bgTexture = null;
-							if (card instanceof CustomCard) {
-								bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
-							}
+						sb.draw(bgTexture,
+								Settings.WIDTH / 2.0F - 512.0F,
+								Settings.HEIGHT / 2.0F - 512.0F,
+								512.0F,
+								512.0F,
+								1024.0F,
+								1024.0F,
+								Settings.scale,
+								Settings.scale,
+								0.0F,
+								0,
+								0,
+								1024,
+								1024,
+								false,
+								false);
+					}
+					break;
+					default: {
+						Texture bgTexture = null;
+						if (card instanceof CustomCard) {
+							bgTexture = ((CustomCard) card).getBackgroundLargeTexture();
+						}
+						if (bgTexture == null) {
+							bgTexture = BaseMod.getSkillBgPortraitTexture(color);
 							if (bgTexture == null) {
-								bgTexture = BaseMod.getSkillBgPortraitTexture(color);
-								if (bgTexture == null) {
-									bgTexture = ImageMaster.loadImage(BaseMod.getSkillBgPortrait(color));
-									BaseMod.saveSkillBgPortraitTexture(color, bgTexture);
-								}
+								bgTexture = ImageMaster.loadImage(BaseMod.getSkillBgPortrait(color));
+								BaseMod.saveSkillBgPortraitTexture(color, bgTexture);
 							}
-							sb.draw(bgTexture, Settings.WIDTH / 2.0F - 512.0F, Settings.HEIGHT / 2.0F - 512.0F, 512.0F, 512.0F, 1024.0F, 1024.0F, Settings.scale, Settings.scale, 0.0F, 0, 0, 1024, 1024, false, false);
 						}
-						break;
+						sb.draw(bgTexture, Settings.WIDTH / 2.0F - 512.0F, Settings.HEIGHT / 2.0F - 512.0F, 512.0F, 512.0F, 1024.0F, 1024.0F, Settings.scale, Settings.scale, 0.0F, 0, 0, 1024, 1024, false, false);
 					}
+					break;
 				}
-			} catch (NoSuchFieldException | SecurityException | IllegalAccessException e) {
-				e.printStackTrace();
 			}
 		}
 	}
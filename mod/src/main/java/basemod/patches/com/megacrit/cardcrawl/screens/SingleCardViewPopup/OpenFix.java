@@ -1,17 +1,30 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
+import basemod.ReflectionHacks;
 import basemod.abstracts.CustomCard;
 import basemod.patches.com.megacrit.cardcrawl.screens.compendium.CardLibraryScreen.EverythingFix;
+import com.badlogic.gdx.graphics.Texture;
 import com.evacipated.cardcrawl.modthespire.lib.ByRef;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.CardGroup;
 import com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
-import java.lang.reflect.Field;
-
 public class OpenFix
 {
+	private static final ReflectionHacks.RField cardField = ReflectionHacks.privateField(SingleCardViewPopup.class, "card");
+	private static final ReflectionHacks.RField portraitImgField = ReflectionHacks.privateField(SingleCardViewPopup.class, "portraitImg");
+
+	// Custom card portraits are shared with CustomCard's portrait cache, take them out of the
+	// popup before it disposes its old portrait
+	private static void releasePortrait(SingleCardViewPopup popup)
+	{
+		Texture portraitImg = portraitImgField.get(popup);
+		if (CustomCard.isCachedPortrait(portraitImg)) {
+			portraitImgField.set(popup, null);
+		}
+	}
+
 	@SpirePatch(
 			clz=SingleCardViewPopup.class,
 			method="open",
@@ -24,33 +37,57 @@ public class OpenFix
 	{
 		public static void Prefix(SingleCardViewPopup __instance, AbstractCard card, @ByRef CardGroup[] group)
 		{
+			releasePortrait(__instance);
 			if (group[0] == null) {
 				group[0] = EverythingFix.Fields.cardGroupMap.get(card.color);
 			}
 		}
 	}
 
+	@SpirePatch(
+			clz=SingleCardViewPopup.class,
+			method="open",
+			paramtypez={
+					AbstractCard.class
+			}
+	)
+	public static class OpenSingle
+	{
+		public static void Prefix(SingleCardViewPopup __instance, AbstractCard card)
+		{
+			releasePortrait(__instance);
+		}
+	}
+
+	@SpirePatch(
+			clz=SingleCardViewPopup.class,
+			method="close"
+	)
+	public static class Close
+	{
+		public static void Prefix(SingleCardViewPopup __instance)
+		{
+			releasePortrait(__instance);
+		}
+	}
+
 	@SpirePatch(
 			clz=SingleCardViewPopup.class,
 			method="loadPortraitImg"
 	)
 	public static class OpenTextureFix
 	{
+		public static void Prefix(SingleCardViewPopup __instance)
+		{
+			releasePortrait(__instance);
+		}
+
 		public static void Postfix(SingleCardViewPopup __instance)
 		{
-			try {
-				Field cardField = SingleCardViewPopup.class.getDeclaredField("card");
-				cardField.setAccessible(true);
-				AbstractCard card = (AbstractCard) cardField.get(__instance);
-
-				Field portraitImageField = SingleCardViewPopup.class.getDeclaredField("portraitImg");
-				portraitImageField.setAccessible(true);
-				if (portraitImageField.get(__instance) == null && card instanceof CustomCard) {
-					portraitImageField.set(__instance, CustomCard.getPortraitImage((CustomCard) card));
-				}
-			} catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
-				e.printStackTrace();
+			AbstractCard card = cardField.get(__instance);
+			if (portraitImgField.get(__instance) == null && card instanceof CustomCard) {
+				portraitImgField.set(__instance, CustomCard.getCachedPortraitImage((CustomCard) card));
 			}
 		}
 	}
-}
\ No newline at end of file
+}
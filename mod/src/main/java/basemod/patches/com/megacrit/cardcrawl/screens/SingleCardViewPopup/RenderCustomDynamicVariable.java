@@ -1,10 +1,10 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
-import basemod.BaseMod;
+import basemod.ReflectionHacks;
 import basemod.abstracts.DynamicVariable;
+import basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard.DynamicVariableToken;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
@@ -15,12 +15,6 @@ import javassist.CannotCompileException;
 import javassist.CtBehavior;
 import javassist.expr.ExprEditor;
 import javassist.expr.MethodCall;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
-
-import java.lang.reflect.Field;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @SpirePatch(
         clz=SingleCardViewPopup.class,
@@ -54,8 +48,9 @@ public class RenderCustomDynamicVariable
 
     public static class Inner
     {
-        private static Logger logger = LogManager.getLogger();
-        private static final GlyphLayout gl = new GlyphLayout();
+        private static final ReflectionHacks.RField cardField = ReflectionHacks.privateField(SingleCardViewPopup.class, "card");
+        private static final ReflectionHacks.RField currentXField = ReflectionHacks.privateField(SingleCardViewPopup.class, "current_x");
+        private static final ReflectionHacks.RField currentYField = ReflectionHacks.privateField(SingleCardViewPopup.class, "current_y");
 
         public static float myRenderDynamicVariable(Object __obj_instance, String key, char ckey, float start_x, float draw_y, int i, BitmapFont font, SpriteBatch sb, Character cend)
         {
@@ -66,36 +61,20 @@ public class RenderCustomDynamicVariable
             float current_x;
             float current_y;
             try {
-                Field f = SingleCardViewPopup.class.getDeclaredField("card");
-                f.setAccessible(true);
-                card = (AbstractCard) f.get(__instance);
-
-                f = SingleCardViewPopup.class.getDeclaredField("current_x");
-                f.setAccessible(true);
-                current_x = f.getFloat(__instance);
-
-                f = SingleCardViewPopup.class.getDeclaredField("current_y");
-                f.setAccessible(true);
-                current_y = f.getFloat(__instance);
-            } catch (IllegalAccessException | NoSuchFieldException e) {
+                card = (AbstractCard) cardField.getter().invokeExact(__instance);
+                current_x = (float) currentXField.getter().invokeExact(__instance);
+                current_y = (float) currentYField.getter().invokeExact(__instance);
+            } catch (Throwable e) {
                 e.printStackTrace();
                 return 0;
             }
 
-            String end = "";
-
-            Pattern pattern = Pattern.compile("!(.+)!(.*) ");
-            Matcher matcher = pattern.matcher(key);
-            if (matcher.find()) {
-                key = matcher.group(1);
-                end = matcher.group(2);
-            }
+            DynamicVariableToken token = DynamicVariableToken.get(key);
 
             // Main body of method
-            StringBuilder stringBuilder = new StringBuilder();
             Color c = Settings.CREAM_COLOR;
             int num = 0;
-            DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+            DynamicVariable dv = token.getVariable();
             if (dv != null) {
                 num = dv.baseValue(card);
                 if (dv.upgraded(card)) {
@@ -103,26 +82,22 @@ public class RenderCustomDynamicVariable
                 } else {
                     c = dv.getNormalColor();
                 }
-            } else {
-                logger.error("No dynamic card variable found for key \"" + key + "\"!");
             }
-            stringBuilder.append(num);
-            gl.setText(font, stringBuilder.toString());
-            FontHelper.renderRotatedText(sb, font, stringBuilder.toString(),
+            String text = DynamicVariableToken.numberString(num);
+            float width = DynamicVariableToken.width(font, text);
+            FontHelper.renderRotatedText(sb, font, text,
                     current_x, current_y,
-                    start_x - current_x + gl.width / 2.0f,
+                    start_x - current_x + width / 2.0f,
                     i * 1.53f * -font.getCapHeight() + draw_y - current_y + -12.0f,
                     0.0f, true, c);
-            if (end != null) {
-                FontHelper.renderRotatedText(sb, font, end,
+            if (!token.end.isEmpty()) {
+                FontHelper.renderRotatedText(sb, font, token.end,
                         current_x, current_y,
-                        start_x - current_x + gl.width + 10.0f * Settings.scale,
+                        start_x - current_x + width + 10.0f * Settings.scale,
                         i * 1.53f * -font.getCapHeight() + draw_y - current_y + -12.0f,
                         0.0f, true, Settings.CREAM_COLOR);
             }
-            stringBuilder.append(' ');
-            gl.setText(font, stringBuilder.toString());
-            return gl.width;
+            return width + DynamicVariableToken.width(font, " ");
         }
     }
 }
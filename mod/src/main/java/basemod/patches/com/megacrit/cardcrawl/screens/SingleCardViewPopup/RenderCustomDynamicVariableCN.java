@@ -1,7 +1,7 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 
-import basemod.BaseMod;
 import basemod.abstracts.DynamicVariable;
+import basemod.patches.com.megacrit.cardcrawl.cards.AbstractCard.DynamicVariableToken;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.lib.*;
 import com.evacipated.cardcrawl.modthespire.patcher.PatchingException;
@@ -10,8 +10,6 @@ import com.megacrit.cardcrawl.screens.SingleCardViewPopup;
 import javassist.CannotCompileException;
 import javassist.CtBehavior;
 
-import java.util.regex.Pattern;
-
 @SpirePatch(
 		clz=SingleCardViewPopup.class,
 		method="renderDescriptionCN"
@@ -25,24 +23,18 @@ public class RenderCustomDynamicVariableCN
 	public static void Insert(SingleCardViewPopup __instance, SpriteBatch sb, AbstractCard card, @ByRef String[] tmp)
 	{
 		if (tmp[0].startsWith("$")) {
-			String key = tmp[0];
-
-			Pattern pattern = Pattern.compile("\\$(.+)\\$\\$");
-			java.util.regex.Matcher matcher = pattern.matcher(key);
-			if (matcher.find()) {
-				key = matcher.group(1);
-			}
-
-			DynamicVariable dv = BaseMod.cardDynamicVariableMap.get(key);
+			DynamicVariableToken token = DynamicVariableToken.getCN(tmp[0]);
+			DynamicVariable dv = token.getVariable();
 			if (dv != null) {
 				if (dv.isModified(card)) {
-					if (dv.value(card) >= dv.baseValue(card)) {
-						tmp[0] = "[#" + dv.getIncreasedValueColor().toString() + "]" + Integer.toString(dv.value(card)) + "[]";
+					int value = dv.value(card);
+					if (value >= dv.baseValue(card)) {
+						tmp[0] = token.markup(value, dv.getIncreasedValueColor());
 					} else {
-						tmp[0] = "[#" + dv.getDecreasedValueColor().toString() + "]" + Integer.toString(dv.value(card)) + "[]";
+						tmp[0] = token.markup(value, dv.getDecreasedValueColor());
 					}
 				} else {
-					tmp[0] = Integer.toString(dv.baseValue(card));
+					tmp[0] = DynamicVariableToken.numberString(dv.baseValue(card));
 				}
 			}
 		}
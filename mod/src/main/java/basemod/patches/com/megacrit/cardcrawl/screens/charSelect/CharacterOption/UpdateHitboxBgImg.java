@@ -5,7 +5,6 @@ import com.badlogic.gdx.graphics.Texture;
 import com.evacipated.cardcrawl.modthespire.lib.SpirePatch;
 import com.megacrit.cardcrawl.characters.AbstractPlayer;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
 import com.megacrit.cardcrawl.screens.charSelect.CharacterOption;
 import javassist.CannotCompileException;
 import javassist.expr.ExprEditor;
@@ -36,7 +35,7 @@ public class UpdateHitboxBgImg {
 		if (BaseMod.isBaseGameCharacter(chosenClass)) {
 			return (Texture)original;
 		} else {
-			return ImageMaster.loadImage(BaseMod.getPlayerPortrait(chosenClass));
+			return BaseMod.getPlayerPortraitTexture(chosenClass);
 		}
 	}
 }
@@ -1,12 +1,12 @@
 package basemod.patches.com.megacrit.cardcrawl.screens.compendium.CardLibraryScreen;
 
+import basemod.helpers.CardRegistry;
 import basemod.patches.com.megacrit.cardcrawl.screens.mainMenu.ColorTabBar.ColorTabBarFix;
 import com.badlogic.gdx.math.MathUtils;
 import com.evacipated.cardcrawl.modthespire.lib.*;
 import com.evacipated.cardcrawl.modthespire.patcher.PatchingException;
 import com.megacrit.cardcrawl.cards.AbstractCard;
 import com.megacrit.cardcrawl.cards.CardGroup;
-import com.megacrit.cardcrawl.helpers.CardLibrary;
 import com.megacrit.cardcrawl.screens.compendium.CardLibraryScreen;
 import com.megacrit.cardcrawl.screens.mainMenu.ColorTabBar;
 import javassist.CannotCompileException;
@@ -46,7 +46,7 @@ public class EverythingFix
                 AbstractCard.CardColor[] colors = AbstractCard.CardColor.values();
                 for (int icolor = AbstractCard.CardColor.CURSE.ordinal() + 1; icolor < colors.length; ++icolor) {
                     CardGroup group = new CardGroup(CardGroup.CardGroupType.UNSPECIFIED);
-                    group.group = CardLibrary.getCardList(CardLibrary.LibraryType.valueOf(colors[icolor].name()));
+                    group.group = new ArrayList<>(CardRegistry.getCards(colors[icolor]));
                     Fields.cardGroupMap.put(colors[icolor], group);
                 }
             } catch (Exception e) {
@@ -93,7 +93,7 @@ public class PotionTips
 		}
 	}
 
-	private static class SuperClassFilter implements ClassFilter
+	public static class SuperClassFilter implements ClassFilter
 	{
 		private ClassPool pool;
 		private CtClass baseClass;
@@ -1,5 +1,6 @@
 package basemod.patches.whatmod;
 
+import basemod.ReflectionHacks;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.evacipated.cardcrawl.modthespire.Loader;
 import com.evacipated.cardcrawl.modthespire.ModInfo;
@@ -11,9 +12,6 @@ import javassist.CtClass;
 import javassist.NotFoundException;
 
 import java.io.File;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 
@@ -24,6 +22,9 @@ public class WhatMod
 	private static final float BODY_TEXT_WIDTH = 280.0F * Settings.scale;
 	private static final float TIP_DESC_LINE_SPACING = 26.0F * Settings.scale;
 
+	private static final ReflectionHacks.RField textHeight = ReflectionHacks.privateField(TipHelper.class, "textHeight");
+	private static final ReflectionHacks.RMethod renderTipBox = ReflectionHacks.privateMethod(TipHelper.class, "renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
+
 	static void renderModTooltip(SpriteBatch sb, Class<?> cls)
 	{
 		renderModTooltip(sb, cls, 1300.0f * Settings.scale, 700.0f * Settings.scale);
@@ -40,16 +41,11 @@ public class WhatMod
 				body = "Not modded content";
 			}
 
-			Field textHeight = TipHelper.class.getDeclaredField("textHeight");
-			textHeight.setAccessible(true);
-
-			Method renderTipBox = TipHelper.class.getDeclaredMethod("renderTipBox", float.class, float.class, SpriteBatch.class, String.class, String.class);
-			renderTipBox.setAccessible(true);
-
-			textHeight.setFloat(null, -FontHelper.getSmartHeight(FontHelper.tipBodyFont, body, BODY_TEXT_WIDTH, TIP_DESC_LINE_SPACING) - 7.0f * Settings.scale);
+			float h = -FontHelper.getSmartHeight(FontHelper.tipBodyFont, body, BODY_TEXT_WIDTH, TIP_DESC_LINE_SPACING) - 7.0f * Settings.scale;
+			textHeight.setter().invokeExact(h);
 
-			renderTipBox.invoke(null, x, y, sb, title, body);
-		} catch (IllegalAccessException | NoSuchFieldException | NoSuchMethodException | InvocationTargetException e) {
+			renderTipBox.handle().invokeExact(x, y, sb, title, body);
+		} catch (Throwable e) {
 			e.printStackTrace();
 		}
 	}
@@ -0,0 +1,328 @@
+package basemod.profiler;
+
+import basemod.BaseModInit;
+import com.evacipated.cardcrawl.modthespire.lib.SpireConfig;
+import com.google.gson.stream.JsonWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timeline of BaseMod's startup: BaseMod.initialize and its steps, every subscriber of the startup
+ * publish methods (EditCards, EditRelics, EditCharacters, EditStrings, EditKeywords, AddAudio,
+ * PostInitialize) and the ID tables built after PostInitialize.
+ *
+ * Each phase records wall time, CPU time and bytes allocated on its thread, and is attributed to the
+ * mod that owns it. Phases nest, and a phase's self time is its wall time minus that of the phases
+ * inside it, so BaseMod's own work around the subscribers shows up separately from the subscribers.
+ *
+ * Nothing is recorded unless "boot-profile-enabled" is set in the BaseMod config, which BaseMod.initialize
+ * reads before its first phase. CPU time and allocation tracking are only switched on for the JVM then,
+ * and subscribers are only attributed to their mods in {@link #finish()}, which writes a Chrome
+ * trace-event file (open it in chrome://tracing or ui.perfetto.dev) and a summary to the log.
+ */
+public class BootProfiler {
+	public static final Logger logger = LogManager.getLogger(BootProfiler.class.getName());
+
+	public static final String TRACE_LOCATION = SpireConfig.makeFilePath(BaseModInit.MODNAME, "boot-trace", "json");
+	public static final String BASEMOD_ID = "basemod";
+
+	// set from the config by setEnabled before BaseMod.initialize starts its first phase
+	private static boolean enabled = false;
+	// phases listed in the summary, the per-mod totals are always complete
+	public static int summaryLength = 30;
+
+	private static boolean recording = false;
+	private static boolean finished = false;
+	// ts in the trace is JVM uptime, so the time before BaseMod.initialize shows up as the gap at the start
+	private static final long originNanos = System.nanoTime();
+	private static final long originUptimeMicros = ManagementFactory.getRuntimeMXBean().getUptime() * 1000L;
+
+	private static final List<Phase> phases = new ArrayList<>();
+	private static final ArrayDeque<Phase> open = new ArrayDeque<>();
+
+	private static com.sun.management.ThreadMXBean threadBean = null;
+	private static boolean cpuTimeSupported = false;
+
+	private BootProfiler() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	// setEnabled - start recording, turning on CPU time and allocation tracking. Does nothing once startup is over
+	public static void setEnabled(boolean enable) {
+		if (finished || enabled == enable) {
+			return;
+		}
+		enabled = enable;
+		recording = enable;
+		if (enable) {
+			threadBean = DispatchProfiler.findThreadBean();
+			cpuTimeSupported = isCpuTimeSupported();
+		}
+	}
+
+	// begin - start a phase owned by BaseMod. null if not recording
+	public static Phase begin(String name) {
+		return begin(name, null, null);
+	}
+
+	// begin - start the phase of a subscriber during a startup publish method
+	public static Phase begin(String event, Object subscriber) {
+		if (!recording) {
+			return null;
+		}
+		return begin(subscriber.getClass().getName(), event, subscriber.getClass());
+	}
+
+	private static Phase begin(String name, String event, Class<?> subscriberClass) {
+		if (!recording) {
+			return null;
+		}
+		Phase phase = new Phase(name, event, subscriberClass, open.peek(), Thread.currentThread());
+		open.push(phase);
+		phases.add(phase);
+		phase.cpuNanos = cpuNanos();
+		phase.allocatedBytes = allocatedBytes();
+		phase.startNanos = System.nanoTime();
+		return phase;
+	}
+
+	public static void end(Phase phase) {
+		if (phase == null || !recording) {
+			return;
+		}
+		long now = System.nanoTime();
+		phase.wallNanos = now - phase.startNanos;
+		phase.cpuNanos = cpuNanos() - phase.cpuNanos;
+		phase.allocatedBytes = allocatedBytes() - phase.allocatedBytes;
+		// phases left open by an exception end with the one around them
+		if (open.contains(phase)) {
+			while (open.pop() != phase) {
+			}
+		}
+		if (phase.parent != null) {
+			phase.parent.childNanos += phase.wallNanos;
+			phase.parent.childBytes += phase.allocatedBytes;
+		}
+	}
+
+	// run - time step as a phase owned by BaseMod
+	public static void run(String name, Runnable step) {
+		Phase phase = begin(name);
+		try {
+			step.run();
+		} finally {
+			end(phase);
+		}
+	}
+
+	// finish - stop recording and, if enabled, write the trace and the summary. Called once startup is done
+	public static void finish() {
+		finished = true;
+		if (!recording) {
+			return;
+		}
+		recording = false;
+		open.clear();
+		for (Phase phase : phases) {
+			phase.resolveModID();
+		}
+		try {
+			writeTrace(TRACE_LOCATION);
+			logger.info("Boot trace written to " + TRACE_LOCATION);
+		} catch (IOException e) {
+			logger.warn("Failed to write boot trace " + TRACE_LOCATION, e);
+		}
+		logSummary();
+		phases.clear();
+	}
+
+	private static void writeTrace(String path) throws IOException {
+		try (Writer out = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8);
+			 JsonWriter json = new JsonWriter(out)) {
+			json.beginObject();
+			json.name("displayTimeUnit").value("ms");
+			json.name("traceEvents").beginArray();
+
+			HashMap<Long, String> threads = new HashMap<>();
+			for (Phase phase : phases) {
+				threads.put(phase.threadID, phase.threadName);
+			}
+			for (Map.Entry<Long, String> thread : threads.entrySet()) {
+				json.beginObject();
+				json.name("name").value("thread_name");
+				json.name("ph").value("M");
+				json.name("pid").value(1);
+				json.name("tid").value(thread.getKey());
+				json.name("args").beginObject().name("name").value(thread.getValue()).endObject();
+				json.endObject();
+			}
+
+			for (Phase phase : phases) {
+				json.beginObject();
+				json.name("name").value(phase.name);
+				json.name("cat").value(phase.event == null ? phase.modID : phase.event);
+				json.name("ph").value("X");
+				json.name("ts").value(originUptimeMicros + (phase.startNanos - originNanos) / 1000L);
+				json.name("dur").value(phase.wallNanos / 1000L);
+				json.name("pid").value(1);
+				json.name("tid").value(phase.threadID);
+				json.name("args").beginObject();
+				json.name("mod").value(phase.modID);
+				if (phase.event != null) {
+					json.name("event").value(phase.event);
+				}
+				json.name("self_ms").value(phase.getSelfNanos() / 1e6);
+				if (cpuTimeSupported) {
+					json.name("cpu_ms").value(phase.cpuNanos / 1e6);
+				}
+				if (threadBean != null) {
+					json.name("alloc_bytes").value(phase.allocatedBytes);
+				}
+				json.endObject();
+				json.endObject();
+			}
+
+			json.endArray();
+			json.endObject();
+		}
+	}
+
+	private static void logSummary() {
+		long total = 0;
+		HashMap<String, long[]> mods = new HashMap<>();
+		for (Phase phase : phases) {
+			long self = phase.getSelfNanos();
+			if (phase.parent == null) {
+				total += phase.wallNanos;
+			}
+			long[] modTotals = mods.get(phase.modID);
+			if (modTotals == null) {
+				modTotals = new long[2];
+				mods.put(phase.modID, modTotals);
+			}
+			modTotals[0] += self;
+			modTotals[1] += phase.getSelfBytes();
+		}
+
+		logger.info(String.format("Boot profile: %.1f ms in %d phases", total / 1e6, phases.size()));
+
+		List<Map.Entry<String, long[]>> byMod = new ArrayList<>(mods.entrySet());
+		byMod.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+		logger.info("By mod (self time, allocated):");
+		for (Map.Entry<String, long[]> mod : byMod) {
+			logger.info(String.format("  %10.1f ms %10s  %s", mod.getValue()[0] / 1e6, formatBytes(mod.getValue()[1]), mod.getKey()));
+		}
+
+		List<Phase> sorted = new ArrayList<>(phases);
+		sorted.sort((a, b) -> Long.compare(b.getSelfNanos(), a.getSelfNanos()));
+		logger.info("Slowest phases (self, total, cpu, allocated):");
+		for (int i = 0; i < sorted.size() && i < summaryLength; ++i) {
+			Phase phase = sorted.get(i);
+			logger.info(String.format("  %10.1f ms %10.1f ms %10.1f ms %10s  %s  %s",
+					phase.getSelfNanos() / 1e6,
+					phase.wallNanos / 1e6,
+					cpuTimeSupported ? phase.cpuNanos / 1e6 : Double.NaN,
+					threadBean != null ? formatBytes(phase.allocatedBytes) : "?",
+					phase.modID,
+					phase.event == null ? phase.name : phase.event + " " + phase.name));
+		}
+	}
+
+	private static String formatBytes(long bytes) {
+		if (bytes < 1024L * 1024L) {
+			return String.format("%.1f KB", bytes / 1024.0);
+		}
+		return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+	}
+
+	private static long cpuNanos() {
+		if (!cpuTimeSupported) {
+			return 0;
+		}
+		return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+	}
+
+	private static long allocatedBytes() {
+		if (threadBean == null) {
+			return 0;
+		}
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static boolean isCpuTimeSupported() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean.isCurrentThreadCpuTimeSupported()) {
+				if (!bean.isThreadCpuTimeEnabled()) {
+					bean.setThreadCpuTimeEnabled(true);
+				}
+				return true;
+			}
+		} catch (Throwable e) {
+			logger.warn("CPU time tracking unavailable: " + e);
+		}
+		return false;
+	}
+
+	public static class Phase {
+		public final String name;
+		// publish method for subscriber phases, null for BaseMod's own steps
+		public final String event;
+		// null for BaseMod's own steps
+		final Class<?> subscriberClass;
+		// set by finish, so WhatMod isn't asked about every subscriber while startup is being timed
+		String modID;
+		final Phase parent;
+		final long threadID;
+		final String threadName;
+
+		long startNanos;
+		long wallNanos = 0;
+		long cpuNanos;
+		long allocatedBytes;
+		long childNanos = 0;
+		long childBytes = 0;
+
+		Phase(String name, String event, Class<?> subscriberClass, Phase parent, Thread thread) {
+			this.name = name;
+			this.event = event;
+			this.subscriberClass = subscriberClass;
+			this.parent = parent;
+			this.threadID = thread.getId();
+			this.threadName = thread.getName();
+		}
+
+		void resolveModID() {
+			if (subscriberClass == null) {
+				modID = BASEMOD_ID;
+			} else {
+				modID = DispatchProfiler.findModID(subscriberClass);
+				if (modID == null) {
+					modID = "slaythespire";
+				}
+			}
+		}
+
+		long getSelfNanos() {
+			return Math.max(0, wallNanos - childNanos);
+		}
+
+		long getSelfBytes() {
+			return Math.max(0, allocatedBytes - childBytes);
+		}
+	}
+}
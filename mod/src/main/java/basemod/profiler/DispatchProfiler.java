@@ -0,0 +1,222 @@
+package basemod.profiler;
+
+import basemod.BaseModInit;
+import basemod.interfaces.ISubscriber;
+import basemod.patches.whatmod.WhatMod;
+import com.evacipated.cardcrawl.modthespire.lib.SpireConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Opt-in per-subscriber timing of BaseMod's publish methods.
+ *
+ * Publishers wrap each subscriber call in {@link #begin()} / {@link #end(String, ISubscriber, long)}.
+ * While the profiler is stopped begin returns 0 and end returns immediately, so the only cost is a
+ * static boolean check. Only meant to be used from the game thread.
+ */
+public class DispatchProfiler {
+	public static final Logger logger = LogManager.getLogger(DispatchProfiler.class.getName());
+
+	public static final String CSV_LOCATION = SpireConfig.makeFilePath(BaseModInit.MODNAME, "dispatch-profile", "csv");
+
+	private static boolean enabled = false;
+	private static long startedAt = 0;
+	private static long runningNanos = 0;
+
+	// Key: publish method
+	// Inner Key: subscriber class
+	private static final HashMap<String, HashMap<Class<?>, DispatchStats>> stats = new HashMap<>();
+	private static final HashMap<Class<?>, String> modIDs = new HashMap<>();
+
+	private static final com.sun.management.ThreadMXBean threadBean = findThreadBean();
+	private static long threadID;
+	private static long allocationOverhead = 0;
+	private static long[] allocationStack = new long[16];
+	private static int depth = 0;
+
+	private DispatchProfiler() {}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void start() {
+		if (enabled) {
+			return;
+		}
+		threadID = Thread.currentThread().getId();
+		depth = 0;
+		allocationOverhead = measureAllocationOverhead();
+		startedAt = System.nanoTime();
+		enabled = true;
+		logger.info("Dispatch profiler started");
+	}
+
+	public static void stop() {
+		if (!enabled) {
+			return;
+		}
+		enabled = false;
+		runningNanos += System.nanoTime() - startedAt;
+		logger.info("Dispatch profiler stopped");
+	}
+
+	public static void reset() {
+		stats.clear();
+		runningNanos = 0;
+		startedAt = System.nanoTime();
+		depth = 0;
+	}
+
+	// total time the profiler has been running, across start/stop cycles
+	public static long getProfiledNanos() {
+		return runningNanos + (enabled ? System.nanoTime() - startedAt : 0);
+	}
+
+	public static long begin() {
+		if (!enabled) {
+			return 0L;
+		}
+		if (depth == allocationStack.length) {
+			allocationStack = Arrays.copyOf(allocationStack, depth * 2);
+		}
+		allocationStack[depth++] = allocatedBytes();
+		return System.nanoTime();
+	}
+
+	public static void end(String event, ISubscriber sub, long start) {
+		if (start == 0L || !enabled) {
+			return;
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = 0;
+		if (depth > 0) {
+			bytes = allocatedBytes() - allocationStack[--depth] - allocationOverhead;
+		}
+
+		HashMap<Class<?>, DispatchStats> eventStats = stats.get(event);
+		if (eventStats == null) {
+			eventStats = new HashMap<>();
+			stats.put(event, eventStats);
+		}
+		Class<?> cls = sub.getClass();
+		DispatchStats s = eventStats.get(cls);
+		if (s == null) {
+			s = new DispatchStats(event, cls, findModID(cls));
+			eventStats.put(cls, s);
+		}
+		s.record(nanos, bytes);
+	}
+
+	public static List<DispatchStats> getStats() {
+		List<DispatchStats> ret = new ArrayList<>();
+		for (HashMap<Class<?>, DispatchStats> eventStats : stats.values()) {
+			ret.addAll(eventStats.values());
+		}
+		return ret;
+	}
+
+	// sorted by total time spent, most expensive first. A count below 1 returns nothing
+	public static List<DispatchStats> getTop(int count) {
+		List<DispatchStats> ret = getStats();
+		ret.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+		if (ret.size() > count) {
+			ret = ret.subList(0, Math.max(0, count));
+		}
+		return ret;
+	}
+
+	public static String dumpCSV() throws IOException {
+		return dumpCSV(CSV_LOCATION);
+	}
+
+	public static String dumpCSV(String path) throws IOException {
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8))) {
+			out.println("mod,event,subscriber,calls,total_ns,avg_ns,p99_ns,max_ns,alloc_bytes,avg_alloc_bytes");
+			for (DispatchStats s : getTop(Integer.MAX_VALUE)) {
+				out.println(String.join(",",
+						csv(s.modID == null ? "slaythespire" : s.modID),
+						csv(s.event),
+						csv(s.subscriberClass.getName()),
+						Long.toString(s.getCalls()),
+						Long.toString(s.getTotalNanos()),
+						Long.toString(s.getAverageNanos()),
+						Long.toString(s.getP99Nanos()),
+						Long.toString(s.getMaxNanos()),
+						Long.toString(s.getAllocatedBytes()),
+						Long.toString(s.getAverageAllocatedBytes())
+				));
+			}
+		}
+		logger.info("Dispatch profile written to " + path);
+		return path;
+	}
+
+	private static String csv(String value) {
+		if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+			return '"' + value.replace("\"", "\"\"") + '"';
+		}
+		return value;
+	}
+
+	static String findModID(Class<?> cls) {
+		if (!modIDs.containsKey(cls)) {
+			String modID;
+			try {
+				modID = WhatMod.findModID(cls);
+			} catch (Exception e) {
+				modID = "<unknown>";
+			}
+			modIDs.put(cls, modID);
+		}
+		return modIDs.get(cls);
+	}
+
+	private static long allocatedBytes() {
+		if (threadBean == null) {
+			return 0;
+		}
+		return threadBean.getThreadAllocatedBytes(threadID);
+	}
+
+	// the allocation counter query can allocate itself, subtract that from every sample
+	private static long measureAllocationOverhead() {
+		if (threadBean == null) {
+			return 0;
+		}
+		long min = Long.MAX_VALUE;
+		for (int i = 0; i < 16; ++i) {
+			long a = allocatedBytes();
+			long b = allocatedBytes();
+			min = Math.min(min, b - a);
+		}
+		return min;
+	}
+
+	static com.sun.management.ThreadMXBean findThreadBean() {
+		try {
+			java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported()) {
+					sunBean.setThreadAllocatedMemoryEnabled(true);
+					return sunBean;
+				}
+			}
+		} catch (Throwable e) {
+			logger.warn("Allocation tracking unavailable: " + e);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,75 @@
+package basemod.profiler;
+
+import java.util.Arrays;
+
+/**
+ * Timing and allocation totals for one subscriber class on one publish method.
+ * p99 is computed over the most recent {@link #SAMPLE_SIZE} calls.
+ */
+public class DispatchStats {
+	public static final int SAMPLE_SIZE = 1024;
+
+	public final String event;
+	public final Class<?> subscriberClass;
+	public final String modID;
+
+	private long calls = 0;
+	private long totalNanos = 0;
+	private long maxNanos = 0;
+	private long allocatedBytes = 0;
+	private final long[] samples = new long[SAMPLE_SIZE];
+
+	DispatchStats(String event, Class<?> subscriberClass, String modID) {
+		this.event = event;
+		this.subscriberClass = subscriberClass;
+		this.modID = modID;
+	}
+
+	void record(long nanos, long bytes) {
+		samples[(int) (calls % SAMPLE_SIZE)] = nanos;
+		++calls;
+		totalNanos += nanos;
+		if (nanos > maxNanos) {
+			maxNanos = nanos;
+		}
+		if (bytes > 0) {
+			allocatedBytes += bytes;
+		}
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getAverageNanos() {
+		return calls == 0 ? 0 : totalNanos / calls;
+	}
+
+	public long getP99Nanos() {
+		int n = (int) Math.min(calls, SAMPLE_SIZE);
+		if (n == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(samples, n);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(n * 0.99) - 1;
+		return sorted[Math.max(0, index)];
+	}
+
+	// estimate only: based on the thread's allocation counter, which also counts other work done on the thread
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	public long getAverageAllocatedBytes() {
+		return calls == 0 ? 0 : allocatedBytes / calls;
+	}
+}
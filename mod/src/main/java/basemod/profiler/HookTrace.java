@@ -0,0 +1,131 @@
+package basemod.profiler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracing for hooks that fire many times per combat (draw, exhaust, card use, damage, ...).
+ *
+ * Off by default. Call sites check {@link #enabled} before calling {@link #trace}, so normal play
+ * does no string building and no logging on these paths. When enabled, each hook is sampled
+ * (every {@link #sampleRate}th call) and rate limited ({@link #maxPerSecond} lines per hook),
+ * and lines are written to the log by a background thread so the game thread never waits on log4j.
+ */
+public class HookTrace {
+	public static final Logger logger = LogManager.getLogger(HookTrace.class.getName());
+
+	private static final int QUEUE_SIZE = 4096;
+
+	public static boolean enabled = false;
+	public static int sampleRate = 1;
+	public static int maxPerSecond = 100;
+
+	private static final HashMap<String, HookCounter> counters = new HashMap<>();
+	private static final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+	private static volatile Thread writer = null;
+	private static final AtomicLong dropped = new AtomicLong();
+
+	private HookTrace() {}
+
+	public static void setEnabled(boolean enable) {
+		enabled = enable;
+		if (enable) {
+			startWriter();
+		}
+	}
+
+	public static void trace(String hook) {
+		if (shouldLog(hook)) {
+			offer(hook);
+		}
+	}
+
+	public static void trace(String hook, Object arg) {
+		if (shouldLog(hook)) {
+			offer(hook + ": " + arg);
+		}
+	}
+
+	public static void trace(String hook, Object arg1, Object arg2) {
+		if (shouldLog(hook)) {
+			offer(hook + ": " + arg1 + ", " + arg2);
+		}
+	}
+
+	private static synchronized boolean shouldLog(String hook) {
+		if (!enabled) {
+			return false;
+		}
+		HookCounter counter = counters.get(hook);
+		if (counter == null) {
+			counter = new HookCounter();
+			counters.put(hook, counter);
+		}
+		return counter.tick(System.currentTimeMillis());
+	}
+
+	private static void offer(String line) {
+		if (writer == null) {
+			startWriter();
+		}
+		if (!queue.offer(line)) {
+			dropped.incrementAndGet();
+		}
+	}
+
+	private static synchronized void startWriter() {
+		if (writer != null) {
+			return;
+		}
+		writer = new Thread(HookTrace::drain, "BaseMod HookTrace");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	private static void drain() {
+		try {
+			while (true) {
+				String line = queue.take();
+				logger.info(line);
+				long droppedLines = dropped.getAndSet(0);
+				if (droppedLines > 0) {
+					logger.info("(" + droppedLines + " trace lines dropped, queue full)");
+				}
+			}
+		} catch (InterruptedException ignored) {
+		}
+	}
+
+	private static class HookCounter {
+		private long calls = 0;
+		private long windowStart = 0;
+		private int loggedInWindow = 0;
+		private int suppressedInWindow = 0;
+
+		boolean tick(long now) {
+			++calls;
+			if (sampleRate > 1 && calls % sampleRate != 0) {
+				return false;
+			}
+			if (now - windowStart >= 1000) {
+				if (suppressedInWindow > 0) {
+					queue.offer("(" + suppressedInWindow + " trace lines rate limited)");
+				}
+				windowStart = now;
+				loggedInWindow = 0;
+				suppressedInWindow = 0;
+			}
+			if (maxPerSecond > 0 && loggedInWindow >= maxPerSecond) {
+				++suppressedInWindow;
+				return false;
+			}
+			++loggedInWindow;
+			return true;
+		}
+	}
+}